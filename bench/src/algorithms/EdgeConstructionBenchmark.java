@@ -0,0 +1,38 @@
+package algorithms;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// unit disk graph construction (spatial grid + CSR) and the kernel reduction on top of it
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EdgeConstructionBenchmark {
+    @Param({"150", "1000", "10000", "100000"})
+    public int nbPoints;
+
+    private ArrayList<Point> points;
+    private Graph graph;
+
+    @Setup
+    public void setup() {
+        points = Instances.generate(nbPoints, Instances.SEED);
+        graph = Graph.build(points, Instances.EDGE_THRESHOLD);
+    }
+
+    @Benchmark
+    public Graph buildGraph() {
+        return Graph.build(points, Instances.EDGE_THRESHOLD);
+    }
+
+    @Benchmark
+    public Kernel reduce() {
+        return new Kernel(graph);
+    }
+}
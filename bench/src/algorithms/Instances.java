@@ -0,0 +1,33 @@
+package algorithms;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Random;
+
+// seeded benchmark instances: the clustered distribution of RandomPointsGenerator.generate,
+// with the plane scaled by sqrt(n / 150) so that every size has the density of the 150 point instances
+final class Instances {
+    static final int EDGE_THRESHOLD = 100;
+    static final long SEED = 20241201L;
+
+    private Instances() {
+    }
+
+    static ArrayList<Point> generate(int nbPoints, long seed) {
+        Random generator = new Random(seed);
+        double scale = Math.sqrt(nbPoints / 150.0);
+        int maxWidth = 1400, maxHeight = 900, radius = 140;
+        ArrayList<Point> points = new ArrayList<>(nbPoints);
+        while (points.size() < nbPoints) {
+            int x = generator.nextInt(maxWidth);
+            int y = generator.nextInt(maxHeight);
+            double d = RandomPointsGenerator.distanceToCenter(x, y);
+            if (d < radius * 1.4 || (d < radius * 1.6 && generator.nextInt(5) == 1) || (d < radius * 1.8 && generator.nextInt(10) == 1)
+                    || (maxHeight / 5 < x && x < 4 * maxHeight / 5 && maxHeight / 5 < y && y < 4 * maxHeight / 5 && generator.nextInt(100) == 1)) {
+                // jitter inside the scaled cell so that the larger instances don't stack points on a lattice
+                points.add(new Point((int) (x * scale + generator.nextDouble() * scale), (int) (y * scale + generator.nextDouble() * scale)));
+            }
+        }
+        return points;
+    }
+}
@@ -0,0 +1,54 @@
+package algorithms;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// the PointSet operations that the local search performs all the time
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointSetBenchmark {
+    @Param({"150", "1000", "10000", "100000"})
+    public int nbPoints;
+
+    private DefaultTeam team;
+    private DefaultTeam.PointSet points;
+    private Point[] order;
+    private int next;
+
+    @Setup
+    public void setup() {
+        team = new DefaultTeam();
+        team.setSeed(Instances.SEED);
+        // on the whole graph, not the kernel, so that the set has nbPoints ids
+        points = team.prepare(Graph.build(Instances.generate(nbPoints, Instances.SEED), Instances.EDGE_THRESHOLD));
+        order = points.toArray(new Point[0]);
+        next = 0;
+    }
+
+    @Benchmark
+    public DefaultTeam.PointSet copy() {
+        return team.new PointSet(points);
+    }
+
+    @Benchmark
+    public boolean removeAdd() {
+        Point p = order[next];
+        next = next + 1 == order.length ? 0 : next + 1;
+        points.remove(p);
+        return points.add(p);
+    }
+
+    @Benchmark
+    public int iterate() {
+        int sum = 0;
+        for (Point p : points) {
+            sum += p.id;
+        }
+        return sum;
+    }
+}
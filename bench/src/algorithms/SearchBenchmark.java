@@ -0,0 +1,59 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// the search routines of one solve, on the kernel of the instance
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    @Param({"150", "1000", "10000", "100000"})
+    public int nbPoints;
+
+    private DefaultTeam team;
+    private DefaultTeam.PointSet points;
+    private DefaultTeam.PointSet forest;
+    private ArrayList<Point> solution;
+
+    @Setup
+    public void setup() {
+        Kernel kernel = new Kernel(Graph.build(Instances.generate(nbPoints, Instances.SEED), Instances.EDGE_THRESHOLD));
+        team = new DefaultTeam();
+        team.setSeed(Instances.SEED);
+        points = team.prepare(kernel.graph);
+        solution = team.greedy(points, Instances.EDGE_THRESHOLD);
+        forest = team.new PointSet(points);
+        forest.removeAll(solution);
+    }
+
+    @Benchmark
+    public boolean isSolution() {
+        return team.isSolution(forest, Instances.EDGE_THRESHOLD);
+    }
+
+    @Benchmark
+    public boolean isSolutionWithCycle() {
+        // the forest plus one solution vertex, the typical rejected candidate
+        Point p = solution.get(0);
+        forest.add(p);
+        boolean result = team.isSolution(forest, Instances.EDGE_THRESHOLD);
+        forest.remove(p);
+        return result;
+    }
+
+    @Benchmark
+    public ArrayList<Point> greedy() {
+        return team.greedy(points, Instances.EDGE_THRESHOLD);
+    }
+
+    @Benchmark
+    public ArrayList<Point> remove2add1() {
+        return team.remove2add1(solution, points, Instances.EDGE_THRESHOLD);
+    }
+}
@@ -0,0 +1,34 @@
+package algorithms;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// a full calculFVS, one solve per measurement, seeded like the instance so that the runs only differ by the thread timing
+// 100000 points takes far too long for the default run, pass -p nbPoints=100000 to include it
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolveBenchmark {
+    @Param({"150", "1000", "10000"})
+    public int nbPoints;
+
+    private ArrayList<Point> points;
+
+    @Setup
+    public void setup() {
+        points = Instances.generate(nbPoints, Instances.SEED);
+    }
+
+    @Benchmark
+    public ArrayList<Point> calculFVS() {
+        DefaultTeam team = new DefaultTeam();
+        team.setSeed(Instances.SEED);
+        return team.calculFVS(points, Instances.EDGE_THRESHOLD);
+    }
+}
@@ -0,0 +1,269 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// simulated annealing on one solution at a time, an alternative to the genetic search
+// the move takes a solution vertex v back into the forest and evicts a smallest set of forest vertices breaking
+// the cycles it closes: in every tree holding several neighbors of v, a cut separating them
+// every forest vertex carries the label of its tree, so a move costs O(deg(v)) when v touches each tree once,
+// only the trees touched twice are walked, and only the trees changed by an accepted move are relabeled
+// the solution grows by (evicted - 1), worse moves are accepted with probability exp(-delta / temperature),
+// and a freshly evicted vertex is tabu for a few moves so that the chain doesn't undo its last move right away
+// several independent chains run in parallel in the pool, each one with its own SplittableRandom
+final class Annealing {
+    private static final double START_TEMPERATURE = 0.3;
+    private static final double COOLING = 0.97; //temperature factor after every sweep of n moves
+    private static final double MIN_TEMPERATURE = 0.1;
+    private static final int MAX_STALE_SWEEPS = 100; //sweeps without a new best solution of the chain before it stops
+    private static final int TABU_TENURE = 7; //moves during which an evicted vertex stays in the solution
+    private static final int FREE = -1;
+
+    private final int n;
+    private final Graph graph;
+    private final ForkJoinPool pool;
+    private final BooleanSupplier timeUp;
+    private final SolverMetrics metrics;
+    private volatile int bestSize;
+    private int[] best;
+    private Consumer<int[]> onImprovement;
+
+    Annealing(Graph graph, ForkJoinPool pool, BooleanSupplier timeUp, SolverMetrics metrics) {
+        this.n = graph.size();
+        this.graph = graph;
+        this.pool = pool;
+        this.timeUp = timeUp;
+        this.metrics = metrics;
+    }
+
+    // runs chains chains from the valid solution initial until they stagnate, the deadline passes
+    // or a solution reaches lowerBound, onImprovement (may be null) hears about every new best solution
+    int[] solve(int[] initial, int chains, int lowerBound, SplittableRandom random, Consumer<int[]> onImprovement) {
+        this.onImprovement = onImprovement;
+        best = initial.clone();
+        bestSize = best.length;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int c = 0; c < chains; c++) {
+            Chain chain = new Chain(initial, random.split(), lowerBound);
+            tasks.add(pool.submit(chain::run));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        return best;
+    }
+
+    private synchronized void offer(int[] solution) {
+        if (solution.length >= bestSize) return;
+        best = solution;
+        bestSize = solution.length;
+        if (onImprovement != null) onImprovement.accept(solution);
+    }
+
+    private final class Chain {
+        private final SplittableRandom random;
+        private final int lowerBound;
+        private final boolean[] inSolution = new boolean[n];
+        // the solution vertices, position[v] is the index of v in solution
+        private final int[] solution = new int[n];
+        private final int[] position = new int[n];
+        private int size = 0;
+        private final int[] label = new int[n]; // tree of a forest vertex, the id of one of its vertices
+        private final long[] tabuUntil = new long[n];
+        // scratch of the moves, stamps[v] == epoch marks v for the current move
+        private final int[] stamps = new int[n];
+        private final int[] treeStamps = new int[n];
+        private final int[] multiplicity = new int[n];
+        private final int[] terminals = new int[n]; // neighbors of v per tree label
+        private final int[] visits = new int[n]; // visits[x] == visit marks x for the current cut
+        private int visit = 0;
+        private final int[] treeParent = new int[n];
+        private final int[] active = new int[n];
+        private final int[] evicted = new int[n];
+        private final int[] queue = new int[n];
+        private int epoch = 0;
+
+        Chain(int[] initial, SplittableRandom random, int lowerBound) {
+            this.random = random;
+            this.lowerBound = lowerBound;
+            for (int v : initial) {
+                inSolution[v] = true;
+                position[v] = size;
+                solution[size++] = v;
+            }
+            for (int v = 0; v < n; v++) {
+                label[v] = FREE;
+            }
+            for (int v = 0; v < n; v++) {
+                if (!inSolution[v] && label[v] == FREE) relabel(v, nextEpoch());
+            }
+        }
+
+        void run() {
+            double temperature = START_TEMPERATURE;
+            int chainBest = size;
+            int staleSweeps = 0;
+            long step = 0;
+            long accepted = 0;
+            while (size > 0 && bestSize > lowerBound && staleSweeps < MAX_STALE_SWEEPS && !timeUp.getAsBoolean()) {
+                for (int k = 0; k < n && size > 0; k++, step++) {
+                    int v = solution[random.nextInt(size)];
+                    if (tabuUntil[v] > step) continue;
+                    int evictedCount = evaluate(v, evicted);
+                    if (evictedCount == Integer.MAX_VALUE) continue;
+
+                    int delta = evictedCount - 1;
+                    if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature)) continue;
+                    apply(v, evictedCount, step);
+                    accepted++;
+                    if (size < chainBest) {
+                        chainBest = size;
+                        staleSweeps = -1;
+                        if (size < bestSize) offer(currentSolution());
+                    }
+                }
+                staleSweeps++;
+                temperature = Math.max(MIN_TEMPERATURE, temperature * COOLING);
+            }
+            metrics.swapsTried.add(step);
+            metrics.swapsAccepted.add(accepted);
+        }
+
+        // the forest vertices evicted when v goes back into the forest, put in out, Integer.MAX_VALUE if v has a loop
+        // a tree with one neighbor of v costs nothing, in a tree with several ones the neighbors of v must end up
+        // in different pieces: the cut is built bottom-up from one of them, a vertex is cut as soon as two
+        // unseparated neighbors of v meet at it (or one meets another one below it), which gives a smallest cut
+        private int evaluate(int v, int[] out) {
+            int[] offsets = graph.offsets, targets = graph.targets;
+            int mark = nextEpoch();
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                if (u == v) return Integer.MAX_VALUE;
+                if (inSolution[u]) continue;
+                if (stamps[u] != mark) {
+                    stamps[u] = mark;
+                    multiplicity[u] = 0;
+                    if (treeStamps[label[u]] != mark) {
+                        treeStamps[label[u]] = mark;
+                        terminals[label[u]] = 0;
+                    }
+                    terminals[label[u]]++;
+                }
+                multiplicity[u]++;
+            }
+            int count = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                if (inSolution[u] || terminals[label[u]] == 0) continue;
+                if (terminals[label[u]] > 1 || multiplicity[u] > 1) count = cut(u, mark, out, count);
+                terminals[label[u]] = 0; // each tree is decided once
+            }
+            return count;
+        }
+
+        // appends to out a smallest set of vertices separating the neighbors of v (stamped with mark) in the tree of start,
+        // the neighbors linked to v by a double edge being cut in any case
+        private int cut(int start, int mark, int[] out, int count) {
+            int[] offsets = graph.offsets, targets = graph.targets;
+            if (visit == Integer.MAX_VALUE) {
+                Arrays.fill(visits, 0);
+                visit = 0;
+            }
+            visit++;
+            int head = 0, tail = 0;
+            visits[start] = visit;
+            treeParent[start] = -1;
+            queue[tail++] = start;
+            while (head < tail) {
+                int x = queue[head++];
+                active[x] = 0;
+                for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                    int y = targets[e];
+                    if (inSolution[y] || visits[y] == visit) continue;
+                    visits[y] = visit;
+                    treeParent[y] = x;
+                    queue[tail++] = y;
+                }
+            }
+            // children before parents, active[x] counts the unseparated neighbors of v hanging below x
+            for (int i = tail - 1; i >= 0; i--) {
+                int x = queue[i];
+                boolean terminal = stamps[x] == mark;
+                int below = active[x];
+                if ((terminal && multiplicity[x] > 1) || below >= 2 || (below == 1 && terminal)) {
+                    out[count++] = x;
+                } else if ((below == 1 || terminal) && treeParent[x] >= 0) {
+                    active[treeParent[x]]++;
+                }
+            }
+            return count;
+        }
+
+        private void apply(int v, int evictedCount, long step) {
+            remove(v);
+            for (int i = 0; i < evictedCount; i++) {
+                int u = evicted[i];
+                inSolution[u] = true;
+                label[u] = FREE;
+                position[u] = size;
+                solution[size++] = u;
+                tabuUntil[u] = step + TABU_TENURE;
+            }
+            // the tree of v grew, the trees of the evicted vertices may have split
+            int mark = nextEpoch();
+            relabel(v, mark);
+            int[] offsets = graph.offsets, targets = graph.targets;
+            for (int i = 0; i < evictedCount; i++) {
+                int u = evicted[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int w = targets[e];
+                    if (!inSolution[w] && stamps[w] != mark) relabel(w, mark);
+                }
+            }
+        }
+
+        private void remove(int v) {
+            inSolution[v] = false;
+            int last = solution[--size];
+            solution[position[v]] = last;
+            position[last] = position[v];
+        }
+
+        // gives the tree of root the label root, stamping its vertices with mark
+        private void relabel(int root, int mark) {
+            int[] offsets = graph.offsets, targets = graph.targets;
+            int head = 0, tail = 0;
+            stamps[root] = mark;
+            queue[tail++] = root;
+            while (head < tail) {
+                int x = queue[head++];
+                label[x] = root;
+                for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                    int y = targets[e];
+                    if (inSolution[y] || stamps[y] == mark) continue;
+                    stamps[y] = mark;
+                    queue[tail++] = y;
+                }
+            }
+        }
+
+        private int nextEpoch() {
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                Arrays.fill(treeStamps, 0);
+                epoch = 0;
+            }
+            return ++epoch;
+        }
+
+        private int[] currentSolution() {
+            return Arrays.copyOf(solution, size);
+        }
+    }
+}
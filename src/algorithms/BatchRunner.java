@@ -0,0 +1,159 @@
+package algorithms;
+
+import java.awt.Point;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// solves a batch of random instances in memory and reports every instance
+// instance i is RandomPointsGenerator.generate(nbPoints, new Random(seed + i)) and its solver is seeded with seed + i,
+// so a batch is reproducible by seed (the solutions too when solverThreads is 1 and there is no budget)
+// instanceThreads instances are solved at the same time, each one in its own pool of solverThreads threads
+//
+// java algorithms.BatchRunner -instances 100 -nbPoints 150 -edgeThreshold 100 -seed 0
+//      -instanceThreads 1 -solverThreads 4 -budget 10000 -engine GENETIC -csv results.csv -json results.json
+public class BatchRunner {
+    private int instances = 100;
+    private int nbPoints = 150;
+    private int edgeThreshold = 100;
+    private long seed = 0;
+    private int instanceThreads = 1;
+    private int solverThreads = Runtime.getRuntime().availableProcessors();
+    private Duration budget = null; // per instance, null for no limit
+    private DefaultTeam.Engine engine = DefaultTeam.Engine.GENETIC;
+    private String csvFile = null;
+    private String jsonFile = null;
+
+    public record Result(int instance, long seed, int points, int size, boolean valid, int lowerBound, long millis, int iterations) {
+    }
+
+    public static void main(String[] args) {
+        BatchRunner runner = new BatchRunner();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "-instances" -> runner.instances = Integer.parseInt(value);
+                case "-nbPoints" -> runner.nbPoints = Integer.parseInt(value);
+                case "-edgeThreshold" -> runner.edgeThreshold = Integer.parseInt(value);
+                case "-seed" -> runner.seed = Long.parseLong(value);
+                case "-instanceThreads" -> runner.instanceThreads = Integer.parseInt(value);
+                case "-solverThreads" -> runner.solverThreads = Integer.parseInt(value);
+                case "-budget" -> runner.budget = Duration.ofMillis(Long.parseLong(value));
+                case "-engine" -> runner.engine = DefaultTeam.Engine.valueOf(value);
+                case "-csv" -> runner.csvFile = value;
+                case "-json" -> runner.jsonFile = value;
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (runner.instances < 1 || runner.instanceThreads < 1 || runner.solverThreads < 1) {
+            throw new IllegalArgumentException("Instance count and thread counts must be positive.");
+        }
+
+        List<Result> results = runner.run();
+        int totalFVSsize = 0;
+        int validSolutions = 0;
+        for (Result result : results) {
+            if (result.valid()) {
+                totalFVSsize += result.size();
+                validSolutions++;
+            }
+        }
+        System.out.println("Average size of FVS: " + (double) totalFVSsize / results.size());
+        System.out.println("Valid solutions: " + validSolutions + "/" + results.size());
+        try {
+            if (runner.csvFile != null) runner.writeCsv(results);
+            if (runner.jsonFile != null) runner.writeJson(results);
+        } catch (IOException e) {
+            System.err.println("Error writing results: " + e.getMessage());
+        }
+    }
+
+    public List<Result> run() {
+        Result[] results = new Result[instances];
+        AtomicInteger next = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < Math.min(instanceThreads, instances); w++) {
+            Thread worker = new Thread(() -> {
+                ForkJoinPool pool = new ForkJoinPool(solverThreads);
+                try {
+                    for (int i = next.getAndIncrement(); i < instances; i = next.getAndIncrement()) {
+                        results[i] = solve(i, pool);
+                        System.err.println("Instance " + i + ": size " + results[i].size() + ", lower bound " + results[i].lowerBound()
+                                + ", gap " + (results[i].size() - results[i].lowerBound()) + ", valid " + results[i].valid()
+                                + ", " + results[i].millis() + " ms");
+                    }
+                } finally {
+                    pool.shutdown();
+                }
+            }, "batch-" + w);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the batch", e);
+            }
+        }
+        return List.of(results);
+    }
+
+    private Result solve(int instance, ForkJoinPool pool) {
+        long instanceSeed = seed + instance;
+        ArrayList<Point> points = RandomPointsGenerator.generate(nbPoints, new Random(instanceSeed));
+
+        DefaultTeam team = new DefaultTeam();
+        team.setPool(pool);
+        team.setSeed(instanceSeed);
+        team.setEngine(engine);
+        long start = System.nanoTime();
+        ArrayList<Point> fvs = team.calculFVS(points, edgeThreshold, budget, null);
+        long millis = (System.nanoTime() - start) / 1000000;
+
+        boolean valid = new Evaluation().isValidFast(points, fvs, edgeThreshold);
+        SolverMetrics metrics = team.getMetrics();
+        return new Result(instance, instanceSeed, points.size(), fvs.size(), valid, metrics.lowerBound(), millis,
+                metrics.generations().size());
+    }
+
+    private void writeCsv(List<Result> results) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(csvFile))) {
+            out.write("instance,seed,points,size,valid,lowerBound,timeMs,iterations");
+            out.newLine();
+            for (Result r : results) {
+                out.write(r.instance() + "," + r.seed() + "," + r.points() + "," + r.size() + "," + r.valid() + ","
+                        + r.lowerBound() + "," + r.millis() + "," + r.iterations());
+                out.newLine();
+            }
+        }
+    }
+
+    private void writeJson(List<Result> results) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(jsonFile))) {
+            out.write("[");
+            out.newLine();
+            for (int i = 0; i < results.size(); i++) {
+                Result r = results.get(i);
+                out.write("  {\"instance\": " + r.instance() + ", \"seed\": " + r.seed() + ", \"points\": " + r.points()
+                        + ", \"size\": " + r.size() + ", \"valid\": " + r.valid() + ", \"lowerBound\": " + r.lowerBound()
+                        + ", \"timeMs\": " + r.millis() + ", \"iterations\": " + r.iterations() + "}"
+                        + (i + 1 < results.size() ? "," : ""));
+                out.newLine();
+            }
+            out.write("]");
+            out.newLine();
+        }
+    }
+}
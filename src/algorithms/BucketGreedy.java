@@ -0,0 +1,119 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// greedy FVS construction: repeatedly peel the leaves and take a highest degree vertex into the solution
+// the degrees of the remaining graph are kept in bucket queues and updated incrementally,
+// so a whole run costs O(n + m) instead of recomputing and sorting all degrees for every pick
+final class BucketGreedy {
+    private final Graph graph;
+
+    // vertices sorted by degree: bucket d is order[start[d]] .. order[start[d+1]-1]
+    // removed vertices are moved into the prefix order[0] .. order[start[0]-1]
+    private int[] order;
+    private int[] pos;
+    private int[] start;
+    // degree in the remaining graph, -1 for vertices that are not (or no longer) in it
+    private int[] degrees;
+    private int[] peelStack;
+    private int peelSize;
+    private boolean[] queued;
+
+    BucketGreedy(Graph graph) {
+        this.graph = graph;
+    }
+
+    // ids of the solution taken among vertices (the rest of vertices induces a forest)
+    int[] run(int[] vertices, Random random) {
+        int n = graph.size(), k = vertices.length;
+        int[] offsets = graph.offsets, targets = graph.targets;
+        degrees = new int[n];
+        Arrays.fill(degrees, -1);
+        for (int v : vertices) degrees[v] = 0;
+        int maxDegree = 0;
+        for (int v : vertices) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (degrees[targets[e]] >= 0) degrees[v]++;
+            }
+            maxDegree = Math.max(maxDegree, degrees[v]);
+        }
+
+        // counting sort into the buckets
+        start = new int[maxDegree + 2];
+        for (int v : vertices) start[degrees[v] + 1]++;
+        for (int d = 0; d <= maxDegree; d++) start[d + 1] += start[d];
+        order = new int[k];
+        pos = new int[n];
+        int[] fill = Arrays.copyOf(start, maxDegree + 1);
+        for (int v : vertices) {
+            pos[v] = fill[degrees[v]]++;
+            order[pos[v]] = v;
+        }
+
+        peelStack = new int[k];
+        peelSize = 0;
+        queued = new boolean[n];
+        for (int v : vertices) {
+            if (degrees[v] <= 1) enqueueLeaf(v);
+        }
+        peelLeaves();
+
+        int[] result = new int[k];
+        int resultSize = 0;
+        int top = maxDegree;
+        while (start[0] < k) {
+            while (start[top] == start[top + 1]) top--;
+            int bucket = top;
+            //get a highest degree node 9/10 times and a node of the next degree 1/10 times when it is the only one
+            if (random.nextInt(10) == 0 && start[top + 1] - start[top] == 1 && start[0] < k - 1) {
+                bucket--;
+                while (start[bucket] == start[bucket + 1]) bucket--;
+            }
+            int chosenOne = order[start[bucket] + random.nextInt(start[bucket + 1] - start[bucket])];
+            result[resultSize++] = chosenOne;
+            removeVertex(chosenOne);
+            peelLeaves();
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    // moves v to the end of the next lower bucket, from bucket 0 it goes to the removed prefix
+    private void decrement(int v) {
+        int d = degrees[v];
+        int i = pos[v], j = start[d];
+        int w = order[j];
+        order[j] = v;
+        pos[v] = j;
+        order[i] = w;
+        pos[w] = i;
+        start[d]++;
+        degrees[v]--;
+    }
+
+    private void removeVertex(int v) {
+        while (degrees[v] >= 0) decrement(v);
+        for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+            int u = graph.targets[e];
+            if (degrees[u] >= 0) {
+                decrement(u);
+                if (degrees[u] <= 1) enqueueLeaf(u);
+            }
+        }
+    }
+
+    private void enqueueLeaf(int v) {
+        if (!queued[v]) {
+            queued[v] = true;
+            peelStack[peelSize++] = v;
+        }
+    }
+
+    // leaves and isolated vertices can never be on a cycle, removing them can create new leaves
+    private void peelLeaves() {
+        while (peelSize > 0) {
+            int v = peelStack[--peelSize];
+            if (degrees[v] >= 0) removeVertex(v);
+        }
+    }
+}
@@ -1,40 +1,11 @@
 package algorithms;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicBoolean;
-
-final class Pair<T1, T2> {
-    public final T1 first;
-    public final T2 second;
-
-    Pair(T1 first, T2 second) {
-        this.first = first;
-        this.second = second;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Pair<?,?>)) return false;
-
-        Pair<?, ?> pair = (Pair<?, ?>) o;
-
-        if (!Objects.equals(first, pair.first)) return false;
-        return Objects.equals(second, pair.second);
-    }
-
-    @Override
-    public int hashCode() {
-        int result = first != null ? first.hashCode() : 0;
-        result = 31 * result + (second != null ? second.hashCode() : 0);
-        return result;
-    }
-}
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
 final class Point {
     public final int id;
@@ -64,41 +35,78 @@ public class DefaultTeam {
     // MAX_POPULATION=200 and MAX_NO_PROGRESS=5 gave 80.21 in about 4 hours
 
     private static final int MAX_POPULATION = 100; //max number of solutions in the population
+    private static final int MIN_POPULATION = 4; //smallest population given to a component
+    private static final int MIGRANTS = 2; //solutions sent to the next island at every migration
+    private static final int MAX_FILL_ATTEMPTS = 4; //starting solutions tried per population slot before giving up
     private static final int MAX_NO_PROGRESS = 5;
     private static final int MAX_ITERATIONS = 2024; //max number of iterations
+    private static final long FINISHER_NODES = 100000; //branch and reduce nodes the exact finisher may spend per component
+    private static final long EXACT_NODES = 1000000; //branch and reduce nodes of the EXACT engine per component, a few seconds
+    // shared by all the solves of the process so that running several of them side by side doesn't oversubscribe the cores
+    // (unless they are given their own pool with setPool)
+    private static final ForkJoinPool SEARCH_POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    // how the starting solutions of the population are built
+    public enum Construction {
+        GREEDY, // take highest degree vertices out until the rest is a forest
+        REVERSE_GREEDY // put low degree vertices back into the forest while they close no cycle
+    }
+
+    // how the components are solved
+    public enum Engine {
+        GENETIC, // the genetic search
+        EXACT, // branch and reduce (up to EXACT_NODES nodes) on the components of up to ExactSolver.MAX_VERTICES vertices,
+               // the genetic search on the larger ones and on the ones it couldn't prove in time
+        ANNEALING // simulated annealing chains in parallel from one local search optimum
+    }
 
-    private boolean[] edgeMap;
-    private HashMap<java.awt.Point, Point> pointMap;
+    private Construction construction = Construction.GREEDY;
+    private Engine engine = Engine.GENETIC;
+    private boolean exactFinisher = false;
+    private int islandCount = 1;
+    private int migrationInterval = 5;
+    // System.nanoTime() after which the search stops, only when hasDeadline
+    private boolean hasDeadline = false;
+    private long deadline;
+    private ForkJoinPool pool = SEARCH_POOL;
+    // solver randomness, seeded per component when a seed is set
+    private boolean seeded = false;
+    private long seed;
+    private Random random = new Random();
+    private SolutionCache cache = null;
+    private boolean warmStart = false;
+    // ids of a component solution to start from (maybe not a solution of the kernel component yet), null for none
+    private int[] warmSolution = null;
+    // counters of the last solve, shared with the component solvers
+    private SolverMetrics metrics = new SolverMetrics();
+
+    private Graph graph;
+    private ForestChecker forestChecker;
+    private SwapEvaluator swapEvaluator;
     private ArrayList<java.awt.Point> pointList;
     private Point[] simplePointArr;
     private int pointCount;
-    private int pointCountShift;
-
-    // optimized points set that contains a boolean array (since the amount of points is very limited)
-    // has nexts and prevs array that induce a linked list that speeds up iteration for more sparse sets
-    // for iteration heavy functions we try to use random access containers anyway
-    private final class PointSet extends AbstractSet<Point> {
-        private boolean[] points = new boolean[pointCount];
-        private int[] nexts = new int[pointCount];
-        private int[] prevs = new int[pointCount];
-        private int first = -1;
+
+    // optimized points set packed into a long[] bitset, one bit per point id
+    // copying is a single arraycopy of pointCount/64 words, the size is kept up to date on add/remove
+    // iteration jumps from set bit to set bit, so sparse sets are still cheap to walk
+    // (package-private like the hot path methods below so that the benchmarks in bench/ can drive them)
+    final class PointSet extends AbstractSet<Point> {
+        private final long[] words = new long[(pointCount + 63) >>> 6];
         private int size = 0;
         private boolean cacheReset = true;
         private int hashCache = 0;
 
         public PointSet() {
-            clear();
         }
 
         public PointSet(Collection<Point> collection) {
             if (collection instanceof PointSet pointSet) {
+                System.arraycopy(pointSet.words, 0, words, 0, words.length);
                 size = pointSet.size;
-                first = pointSet.first;
-                System.arraycopy(pointSet.points, 0, points, 0, pointCount);
-                System.arraycopy(pointSet.nexts, 0, nexts, 0, pointCount);
-                System.arraycopy(pointSet.prevs, 0, prevs, 0, pointCount);
+                cacheReset = pointSet.cacheReset;
+                hashCache = pointSet.hashCache;
             } else {
-                clear();
                 addAll(collection);
             }
         }
@@ -115,17 +123,38 @@ public class DefaultTeam {
 
         @Override
         public boolean contains(Object o) {
-            return points[((Point) o).id];
+            return containsId(((Point) o).id);
         }
 
         public boolean containsId(int id) {
-            return points[id];
+            return (words[id >>> 6] & (1L << id)) != 0;
+        }
+
+        // first id >= from in the set, -1 if there is none
+        public int nextSetBit(int from) {
+            int w = from >>> 6;
+            if (w >= words.length) return -1;
+            long word = words[w] & (-1L << from);
+            while (word == 0) {
+                if (++w == words.length) return -1;
+                word = words[w];
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        public int[] toIdArray() {
+            int[] ids = new int[size];
+            for (int i = 0, id = nextSetBit(0); id != -1; id = nextSetBit(id + 1)) {
+                ids[i++] = id;
+            }
+            return ids;
         }
 
         @Override
         public Iterator<Point> iterator() {
             return new Iterator<>() {
-                int curId = first;
+                int curId = nextSetBit(0);
+                int lastId = -1;
                 @Override
                 public boolean hasNext() {
                     return curId != -1;
@@ -133,69 +162,40 @@ public class DefaultTeam {
 
                 @Override
                 public Point next() {
-                    Point res = simplePointArr[curId];
-                    curId = nexts[curId];
-                    return res;
+                    if (curId == -1) throw new NoSuchElementException();
+                    lastId = curId;
+                    curId = nextSetBit(curId + 1);
+                    return simplePointArr[lastId];
                 }
 
                 @Override
                 public void remove() {
-                    removeId(curId);
+                    removeId(lastId);
                 }
             };
         }
 
         @Override
         public boolean add(Point point) {
-            int id = point.id;
-            boolean changed = !points[id];
-            points[id] = true;
-            if (changed) {
-                cacheReset = true;
-                size++;
-                if (first == -1) {
-                    first = id;
-                    return true;
-                }
-                if (first > id) {
-                    nexts[id] = first;
-                    prevs[first] = id;
-                    first = id;
-                    return true;
-                }
-                int prev = id-1;
-                while (prev >= 0 && !points[prev]) {
-                    prev--;
-                }
-                int next = nexts[prev];
-                nexts[prev] = id;
-                prevs[id] = prev;
-                nexts[id] = next;
-                if (next != -1) {
-                    prevs[next] = id;
-                }
-            }
-            return changed;
+            return addId(point.id);
+        }
+
+        public boolean addId(int id) {
+            long bit = 1L << id;
+            if ((words[id >>> 6] & bit) != 0) return false;
+            words[id >>> 6] |= bit;
+            size++;
+            cacheReset = true;
+            return true;
         }
 
         public boolean removeId(int id) {
-            boolean changed = points[id];
-            points[id] = false;
-            if (changed) {
-                cacheReset = true;
-                size--;
-                int prev = prevs[id], next = nexts[id];
-                if (first == id) {
-                    first = next;
-                }
-                if (prev != -1) {
-                    nexts[prev] = nexts[id];
-                }
-                if (next != -1) {
-                    prevs[next] = prevs[id];
-                }
-            }
-            return changed;
+            long bit = 1L << id;
+            if ((words[id >>> 6] & bit) == 0) return false;
+            words[id >>> 6] &= ~bit;
+            size--;
+            cacheReset = true;
+            return true;
         }
 
         @Override
@@ -203,13 +203,54 @@ public class DefaultTeam {
             return removeId(((Point) o).id);
         }
 
+        // word-wise set algebra, only valid between PointSets of the same team
+        public void or(PointSet other) {
+            int newSize = 0;
+            for (int i = 0; i < words.length; i++) {
+                words[i] |= other.words[i];
+                newSize += Long.bitCount(words[i]);
+            }
+            size = newSize;
+            cacheReset = true;
+        }
+
+        public void andNot(PointSet other) {
+            int newSize = 0;
+            for (int i = 0; i < words.length; i++) {
+                words[i] &= ~other.words[i];
+                newSize += Long.bitCount(words[i]);
+            }
+            size = newSize;
+            cacheReset = true;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Point> collection) {
+            if (collection instanceof PointSet pointSet) {
+                int oldSize = size;
+                or(pointSet);
+                return size != oldSize;
+            }
+            return super.addAll(collection);
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> collection) {
+            if (collection instanceof PointSet pointSet) {
+                int oldSize = size;
+                andNot(pointSet);
+                return size != oldSize;
+            }
+            boolean changed = false;
+            for (Object o : collection) changed |= remove(o);
+            return changed;
+        }
+
         @Override
         public void clear() {
-            Arrays.fill(points, false);
-            Arrays.fill(nexts, -1);
-            Arrays.fill(prevs, -1);
-            first = -1;
+            Arrays.fill(words, 0L);
             size = 0;
+            cacheReset = true;
         }
 
         @Override
@@ -219,412 +260,678 @@ public class DefaultTeam {
             if (size != pointSet.size) return false;
             if (!cacheReset && !pointSet.cacheReset && hashCache != pointSet.hashCache) return false;
 
-            return Arrays.equals(points, pointSet.points);
+            return Arrays.equals(words, pointSet.words);
         }
 
         @Override
         public int hashCode() {
             if (cacheReset) {
-                hashCache = Arrays.hashCode(points);
+                hashCache = Arrays.hashCode(words);
                 cacheReset = false;
             }
             return hashCache;
         }
     }
 
+    // population of distinct solutions ordered by score
+    // the solutions are kept in a TreeMap keyed by (score, insertion number), so the best and the worst
+    // are found and removed in O(log n), and the PointSet of every solution is hashed to reject duplicates
+    private final class Population {
+        private final TreeMap<Long, ArrayList<Point>> solutions = new TreeMap<>();
+        private final HashMap<PointSet, Long> keys = new HashMap<>();
+        private int insertions = 0;
+
+        public Population() {
+        }
+
+        public Population(Population other) {
+            for (ArrayList<Point> solution : other.solutions.values()) {
+                add(solution);
+            }
+        }
+
+        public int size() {
+            return solutions.size();
+        }
+
+        // false if the same solution is already in the population
+        public boolean add(ArrayList<Point> solution) {
+            PointSet fingerprint = new PointSet(solution);
+            if (keys.containsKey(fingerprint)) return false;
+            long key = ((long) score(solution) << 32) | insertions++;
+            solutions.put(key, solution);
+            keys.put(fingerprint, key);
+            return true;
+        }
+
+        public ArrayList<Point> best() {
+            return solutions.firstEntry().getValue();
+        }
+
+        // mean number of vertices by which a solution differs from the best one, 0 when they are all the same
+        public double diversity() {
+            PointSet best = new PointSet(best());
+            long difference = 0;
+            for (ArrayList<Point> solution : solutions.values()) {
+                int common = 0;
+                for (Point p : solution) {
+                    if (best.containsId(p.id)) common++;
+                }
+                difference += solution.size() + best.size() - 2L * common;
+            }
+            return (double) difference / solutions.size();
+        }
+
+        public List<ArrayList<Point>> best(int count) {
+            return solutions.values().stream().limit(count).toList();
+        }
+
+        // keep only the size best solutions, the oldest ones win ties
+        public void truncate(int size) {
+            while (solutions.size() > size) {
+                keys.remove(new PointSet(solutions.pollLastEntry().getValue()));
+            }
+        }
+    }
+
+    public void setConstruction(Construction construction) {
+        this.construction = construction;
+    }
+
+    public void setEngine(Engine engine) {
+        this.engine = engine;
+    }
+
+    // finisher: after the genetic search, small components get a bounded exact search seeded with its best solution,
+    // which either proves that solution optimal or improves it
+    public void setExactFinisher(boolean exactFinisher) {
+        this.exactFinisher = exactFinisher;
+    }
+
+    // runs the searches of this solver in the given pool instead of the shared one
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // seeds the greedy constructions and the shuffles of the local search (of the component solvers, and of this
+    // solver for the routines called on it directly), with a pool of parallelism 1 and no time budget a solve is then reproducible
+    public void setSeed(long seed) {
+        this.seeded = true;
+        this.seed = seed;
+        this.random = new Random(seed);
+    }
+
+    // solutions are looked up in and stored into cache (null for none)
+    // without warm start a cached solution is returned right away, with warm start it seeds the population
+    // and the search tries to improve on it, the cache keeps the better of the two
+    public void setCache(SolutionCache cache, boolean warmStart) {
+        this.cache = cache;
+        this.warmStart = warmStart;
+    }
+
+    // island mode: islandCount independent populations of the full size, exchanging their best solutions
+    // every migrationInterval iterations, islandCount = 1 is the classic single population
+    public void setIslands(int islandCount, int migrationInterval) {
+        if (islandCount < 1 || migrationInterval < 1) {
+            throw new IllegalArgumentException("Island count and migration interval must be positive.");
+        }
+        this.islandCount = islandCount;
+        this.migrationInterval = migrationInterval;
+    }
+
+    // receives every new best solution of the whole instance, calls come from the search threads one at a time
+    public interface SolutionListener {
+        void improved(ArrayList<java.awt.Point> solution);
+    }
+
+    // counters, timings and best size trajectory of the last calculFVS call
+    public SolverMetrics getMetrics() {
+        return metrics;
+    }
+
     public ArrayList<java.awt.Point> calculFVS(ArrayList<java.awt.Point> _points, int edgeThreshold) {
-        // we convert the input points into simple classes that just contain an id for the sake of speed
-        pointCount = _points.size();
-        pointCountShift = 32 - Integer.numberOfLeadingZeros(pointCount);
-        pointMap = new HashMap<>();
-        pointList = new ArrayList<>();
-
-        // use shift instead of multiplication because the isEdge function is called a lot
-        edgeMap = new boolean[_points.size() << pointCountShift];
-        simplePointArr = new Point[_points.size()];
-        for (java.awt.Point p: _points) {
-            pointList.add(p);
-            Point newPoint = new Point(pointList.size() - 1);
-            pointMap.put(p, newPoint);
-            simplePointArr[newPoint.id] = newPoint;
+        return calculFVS(_points, edgeThreshold, null, null);
+    }
+
+    // anytime version: the search stops cooperatively once budget is spent (null for no limit),
+    // including the remove2add1 tasks in flight, and the best solution found so far is returned
+    // listener (may be null) is told about every improvement of the best solution
+    public ArrayList<java.awt.Point> calculFVS(ArrayList<java.awt.Point> _points, int edgeThreshold, Duration budget, SolutionListener listener) {
+        SolverEvents.Solve event = new SolverEvents.Solve();
+        event.begin();
+        metrics = new SolverMetrics();
+        hasDeadline = budget != null;
+        deadline = System.nanoTime() + (budget == null ? 0 : budget.toNanos());
+        pointList = new ArrayList<>(_points);
+        ArrayList<java.awt.Point> cached = cache == null ? null : cache.get(pointList, edgeThreshold);
+        if (cached != null && !warmStart) {
+            return cacheHit(cached, edgeThreshold, listener, event);
+        }
+        // only compare points of neighboring grid cells instead of all pairs
+        ArrayList<java.awt.Point> result = solve(Graph.build(pointList, edgeThreshold), edgeThreshold, cached, listener, event);
+        if (cache != null) {
+            cache.put(pointList, edgeThreshold, result);
+        }
+        return result;
+    }
+
+    // solves the same points for every threshold in one call, each threshold gets budget (null for no limit)
+    // the pairs closer than the largest threshold are found once and sorted into the threshold intervals,
+    // the graph of a threshold is the one of the previous threshold plus the pairs of its interval,
+    // and each solve is warm started from the solution of the previous threshold (repaired for the new edges)
+    // getMetrics() then describes the last threshold
+    public TreeMap<Integer, ArrayList<java.awt.Point>> sweepFVS(ArrayList<java.awt.Point> _points, int[] thresholds, Duration budget) {
+        pointList = new ArrayList<>(_points);
+        ThresholdSweep sweep = new ThresholdSweep(pointList, thresholds);
+        TreeMap<Integer, ArrayList<java.awt.Point>> solutions = new TreeMap<>();
+        ArrayList<java.awt.Point> previous = null;
+        for (int k = 0; k < sweep.thresholds().length; k++) {
+            SolverEvents.Solve event = new SolverEvents.Solve();
+            event.begin();
+            metrics = new SolverMetrics();
+            hasDeadline = budget != null;
+            deadline = System.nanoTime() + (budget == null ? 0 : budget.toNanos());
+            int edgeThreshold = sweep.thresholds()[k];
+            previous = solve(sweep.grow(), edgeThreshold, previous, null, event);
+            solutions.put(edgeThreshold, previous);
+        }
+        return solutions;
+    }
+
+    // solves the unit disk graph of pointList, warm (may be null) is a solution, not necessarily valid, to start from
+    // then shrink the graph with the reduction rules, the search only runs on what is left
+    // (trees and single cycles disappear completely in the reduction)
+    private ArrayList<java.awt.Point> solve(Graph unitDiskGraph, int edgeThreshold, ArrayList<java.awt.Point> warm,
+                                            SolutionListener listener, SolverEvents.Solve event) {
+        Kernel kernel = new Kernel(unitDiskGraph);
+        List<int[]> components = kernel.components();
+        int[] localIds = localIds(kernel, components);
+
+        // the components are independent, each one gets its own search and a share of the population
+        // proportional to its size, and they all run in parallel
+        // the listener and the trajectory only hear about complete solutions, once every component has a best solution
+        int[][] componentBests = new int[components.size()][];
+        int[] missing = {components.size()};
+        if (components.isEmpty()) {
+            metrics.improvement(kernel.forced.length);
+            if (listener != null) listener.improved(toAwtPoints(kernel, components, componentBests));
+        }
+        // the warm solution covers every copy of its coordinates, like for the validation
+        boolean[] inWarm = new boolean[pointList.size()];
+        if (warm != null) {
+            HashSet<java.awt.Point> warmSet = new HashSet<>(warm);
+            for (int id = 0; id < inWarm.length; id++) {
+                inWarm[id] = warmSet.contains(pointList.get(id));
+            }
+        }
+
+        // a lower bound per component, their sum plus the forced points bounds the whole instance
+        // and a component whose best solution reaches its bound is solved to optimality
+        List<ForkJoinTask<int[]>> tasks = new ArrayList<>();
+        int instanceBound = kernel.forced.length;
+        for (int c = 0; c < components.size(); c++) {
+            int[] component = components.get(c);
+            int populationSize = Math.max(MIN_POPULATION, (int) ((long) MAX_POPULATION * component.length / kernel.graph.size()));
+            Graph componentGraph = kernel.graph.component(component, localIds);
+            int lowerBound = new LowerBound(componentGraph).compute();
+            instanceBound += lowerBound;
+            int index = c;
+            Consumer<int[]> onImprovement = best -> {
+                synchronized (componentBests) {
+                    if (componentBests[index] == null) missing[0]--;
+                    componentBests[index] = best;
+                    if (missing[0] == 0) {
+                        int size = kernel.forced.length;
+                        for (int[] componentBest : componentBests) size += componentBest.length;
+                        metrics.improvement(size);
+                        if (listener != null) listener.improved(toAwtPoints(kernel, components, componentBests));
+                    }
+                }
+            };
+            DefaultTeam solver = componentSolver(index);
+            if (warm != null) {
+                solver.warmSolution = Arrays.stream(component).filter(v -> inWarm[kernel.origin[v]]).map(v -> localIds[v]).toArray();
+            }
+            tasks.add(pool.submit(() -> {
+                return solver.solveComponent(componentGraph, index, lowerBound, edgeThreshold, populationSize, onImprovement);
+            }));
+        }
+        metrics.lowerBound(instanceBound);
+        for (int c = 0; c < components.size(); c++) {
+            componentBests[c] = tasks.get(c).join();
+        }
+        ArrayList<java.awt.Point> result = toAwtPoints(kernel, components, componentBests);
+
+        commit(event, kernel, components.size(), result.size(), instanceBound);
+        return result;
+    }
+
+    // a cached solution is returned without any search, but the kernel and the bounds (O(n + m), next to the search
+    // that is skipped) are still computed so that the metrics and the Solve event report its gap like for a solve
+    private ArrayList<java.awt.Point> cacheHit(ArrayList<java.awt.Point> cached, int edgeThreshold, SolutionListener listener,
+                                               SolverEvents.Solve event) {
+        Kernel kernel = new Kernel(Graph.build(pointList, edgeThreshold));
+        List<int[]> components = kernel.components();
+        int[] localIds = localIds(kernel, components);
+        int instanceBound = kernel.forced.length;
+        for (int[] component : components) {
+            instanceBound += new LowerBound(kernel.graph.component(component, localIds)).compute();
+        }
+        metrics.lowerBound(instanceBound);
+        metrics.improvement(cached.size());
+        if (listener != null) listener.improved(cached);
+        commit(event, kernel, components.size(), cached.size(), instanceBound);
+        return cached;
+    }
+
+    // index of every kernel vertex in its component
+    private static int[] localIds(Kernel kernel, List<int[]> components) {
+        int[] localIds = new int[kernel.graph.size()];
+        for (int[] component : components) {
+            for (int i = 0; i < component.length; i++) {
+                localIds[component[i]] = i;
+            }
+        }
+        return localIds;
+    }
+
+    private void commit(SolverEvents.Solve event, Kernel kernel, int components, int solutionSize, int lowerBound) {
+        if (event.shouldCommit()) {
+            event.points = pointList.size();
+            event.kernelSize = kernel.graph.size();
+            event.components = components;
+            event.solutionSize = solutionSize;
+            event.lowerBound = lowerBound;
+            event.cycleChecks = metrics.cycleChecks();
+            event.dfsNodes = metrics.dfsNodes();
+            event.swapsTried = metrics.swapsTried();
+            event.swapsAccepted = metrics.swapsAccepted();
+            event.greedyPicks = metrics.greedyPicks();
+            event.commit();
+        }
+    }
+
+    // the forced points plus the solutions of the components mapped back to the input points
+    private ArrayList<java.awt.Point> toAwtPoints(Kernel kernel, List<int[]> components, int[][] componentSolutions) {
+        int[] kernelSolution = new int[0];
+        for (int c = 0; c < components.size(); c++) {
+            int[] local = componentSolutions[c];
+            int offset = kernelSolution.length;
+            kernelSolution = Arrays.copyOf(kernelSolution, offset + local.length);
+            for (int i = 0; i < local.length; i++) {
+                kernelSolution[offset + i] = components.get(c)[local[i]];
+            }
         }
-        PointSet points = new PointSet();
-        points.addAll(pointMap.values());
 
-        for (Point p: points) {
-            for (Point q: points) {
-                edgeMap[(p.id << pointCountShift) + q.id] = pointList.get(p.id).distance(pointList.get(q.id)) < edgeThreshold;
+        ArrayList<java.awt.Point> result = new ArrayList<>();
+        for (int id : kernel.lift(kernelSolution)) {
+            result.add(pointList.get(id));
+        }
+        return result;
+    }
+
+    private boolean timeUp() {
+        return hasDeadline && System.nanoTime() - deadline >= 0;
+    }
+
+    // fresh solver with the same settings, it keeps the state of one component
+    private DefaultTeam componentSolver(int component) {
+        DefaultTeam solver = new DefaultTeam();
+        solver.construction = construction;
+        solver.engine = engine;
+        solver.exactFinisher = exactFinisher;
+        solver.islandCount = islandCount;
+        solver.migrationInterval = migrationInterval;
+        solver.hasDeadline = hasDeadline;
+        solver.deadline = deadline;
+        solver.metrics = metrics;
+        solver.pool = pool;
+        solver.random = seeded ? new Random(seed * 31 + component) : new Random();
+        return solver;
+    }
+
+    // search on one connected component of the kernel, returns the ids of the best solution found
+    // onImprovement (may be null) gets the ids of every new best solution, component only labels the metrics
+    // the search stops as soon as a solution reaches lowerBound
+    private int[] solveComponent(Graph componentGraph, int component, int lowerBound, int edgeThreshold, int populationSize, Consumer<int[]> onImprovement) {
+        PointSet points = prepare(componentGraph);
+        boolean small = pointCount <= ExactSolver.MAX_VERTICES;
+        if (engine == Engine.EXACT && small) {
+            // the exact search only needs one good solution as its first upper bound
+            ArrayList<Point> start = warmSolution != null ? repairWarmSolution() : construct(points, edgeThreshold);
+            int[] initial = toIds(localSearch(start, points, edgeThreshold));
+            if (onImprovement != null) onImprovement.accept(initial);
+            if (initial.length <= lowerBound) {
+                metrics.provedOptimal.increment();
+                return initial;
             }
+            ExactResult exact = exact(initial, EXACT_NODES, onImprovement);
+            if (exact.optimal()) return exact.solution();
+            // out of nodes: the genetic search takes over, starting from the best solution of the exact search
+            warmSolution = exact.solution();
         }
+        int[] best = engine == Engine.ANNEALING
+                ? anneal(points, lowerBound, edgeThreshold, onImprovement)
+                : genetic(points, component, lowerBound, edgeThreshold, populationSize, onImprovement);
+        if (best.length <= lowerBound) {
+            metrics.provedOptimal.increment();
+            return best;
+        }
+        if (exactFinisher && small) {
+            return exact(best, FINISHER_NODES, onImprovement).solution();
+        }
+        return best;
+    }
+
+    private record ExactResult(int[] solution, boolean optimal) {
+    }
+
+    // branch and reduce from a known solution, bounded by maxNodes and the deadline
+    private ExactResult exact(int[] start, long maxNodes, Consumer<int[]> onImprovement) {
+        ExactSolver solver = new ExactSolver(graph, pool, this::timeUp, maxNodes);
+        int[] best = solver.solve(start, onImprovement);
+        metrics.exactNodes.add(solver.nodes());
+        if (solver.optimal()) metrics.provedOptimal.increment();
+        return new ExactResult(best, solver.optimal());
+    }
 
-        PriorityQueue<ArrayList<Point>> population = generateInitialPopulation(points, edgeThreshold, MAX_POPULATION);
+    // one chain per thread of the pool, all starting from the same local search optimum,
+    // the best solution of the chains gets the local search again
+    private int[] anneal(PointSet points, int lowerBound, int edgeThreshold, Consumer<int[]> onImprovement) {
+        ArrayList<Point> start = warmSolution != null ? repairWarmSolution() : construct(points, edgeThreshold);
+        int[] best = toIds(localSearch(start, points, edgeThreshold));
+        if (onImprovement != null) onImprovement.accept(best);
+        if (best.length <= lowerBound) return best;
+
+        Annealing annealing = new Annealing(graph, pool, this::timeUp, metrics);
+        best = annealing.solve(best, pool.getParallelism(), lowerBound, new SplittableRandom(random.nextLong()), onImprovement);
+        int[] polished = toIds(localSearch(toPoints(best), points, edgeThreshold));
+        if (polished.length >= best.length) return best;
+        if (onImprovement != null) onImprovement.accept(polished);
+        return polished;
+    }
+
+    private int[] genetic(PointSet points, int component, int lowerBound, int edgeThreshold, int populationSize, Consumer<int[]> onImprovement) {
+        // with several islands every island evolves its own population on its own core
+        // and every migrationInterval iterations the best solutions of each island move to the next one
+        List<Population> islands = inParallel(islandCount,
+                island -> generateInitialPopulation(points, edgeThreshold, populationSize));
 
         int no_improvement_counter = -1;
 
         ArrayList<Point> bestSolution = new ArrayList<>();
         for (int iter=0;iter<MAX_ITERATIONS;iter++){
-            PriorityQueue<ArrayList<Point>> nextPopulation = new PriorityQueue<>(Comparator.comparingInt(this::score));
-            nextPopulation.addAll(population);
-            //keep only the best solutions
-            while(nextPopulation.size() > MAX_POPULATION/2){
-                ArrayList<Point> worstSolution = Collections.max(nextPopulation, Comparator.comparingInt(this::score));
-                nextPopulation.remove(worstSolution);
+            SolverEvents.Generation event = new SolverEvents.Generation();
+            event.begin();
+            long generationStart = System.nanoTime();
+            List<Population> population = islands;
+            islands = inParallel(islandCount, island -> evolve(population.get(island), points, edgeThreshold, populationSize));
+            if (islandCount > 1 && (iter + 1) % migrationInterval == 0) {
+                migrate(islands);
             }
 
-            //add new greedy solutions to the population
-            while (nextPopulation.size() < MAX_POPULATION) {
-                nextPopulation.add(localSearch(greedy(points, edgeThreshold), points, edgeThreshold));
+            ArrayList<Point> olderSolution = bestSolution;
+            bestSolution = islands.stream().map(Population::best).min(Comparator.comparingInt(this::score)).get();
+
+            double diversity = islands.stream().mapToDouble(Population::diversity).average().getAsDouble();
+            metrics.generation(component, iter, System.nanoTime() - generationStart, bestSolution.size(), diversity);
+            if (event.shouldCommit()) {
+                event.component = component;
+                event.iteration = iter;
+                event.bestSize = bestSolution.size();
+                event.diversity = diversity;
+                event.commit();
             }
 
-            population = nextPopulation;
-
-            ArrayList<Point> olderSolution = bestSolution;
-            bestSolution = population.peek();
-            System.out.println("Current best solution in iteration: " + iter + " size: " + bestSolution.size());
+            if (onImprovement != null && (olderSolution.isEmpty() || bestSolution.size() < olderSolution.size())) {
+                onImprovement.accept(toIds(bestSolution));
+            }
 
             if(bestSolution.size() < olderSolution.size()){
                 no_improvement_counter = 0;
             }else{
                 no_improvement_counter++;
             }
-            if(no_improvement_counter >= MAX_NO_PROGRESS){
+            if(no_improvement_counter >= MAX_NO_PROGRESS || bestSolution.size() <= lowerBound || timeUp()){
                 break;
             }
         }
 
-        return new ArrayList<>(population.peek().stream().map(p -> pointList.get(p.id)).toList());
+        return toIds(bestSolution);
         //return greedy(points,edgeThreshold);
     }
 
-    private PriorityQueue<ArrayList<Point>> generateInitialPopulation(PointSet points, int edgeThreshold, int size){
+    // sets up the search state for a graph and returns the set of all its vertices
+    PointSet prepare(Graph componentGraph) {
+        graph = componentGraph;
+
+        // we convert the vertices into simple classes that just contain an id for the sake of speed
+        pointCount = graph.size();
+        simplePointArr = new Point[pointCount];
+        for (int id = 0; id < pointCount; id++) {
+            simplePointArr[id] = new Point(id);
+        }
+        PointSet points = new PointSet();
+        points.addAll(Arrays.asList(simplePointArr));
+
+        forestChecker = new ForestChecker(graph, metrics);
+        swapEvaluator = new SwapEvaluator(graph, metrics);
+        return points;
+    }
+
+    private Population evolve(Population population, PointSet points, int edgeThreshold, int populationSize) {
+        Population nextPopulation = new Population(population);
+        //keep only the best solutions
+        nextPopulation.truncate(populationSize/2);
+
+        //add new greedy solutions to the population
+        fill(nextPopulation, points, edgeThreshold, populationSize);
+        return nextPopulation;
+    }
+
+    // local search only runs on starting solutions not seen yet in this round, and only new solutions enter
+    // small components may have fewer distinct solutions than the population size, so the attempts are bounded
+    private void fill(Population population, PointSet points, int edgeThreshold, int populationSize) {
+        HashSet<PointSet> starts = new HashSet<>();
+        for (int attempt = 0; population.size() < populationSize && attempt < MAX_FILL_ATTEMPTS * populationSize; attempt++) {
+            // past the deadline only an empty population still gets its one solution
+            if (timeUp() && population.size() > 0) break;
+            ArrayList<Point> solution = construct(points, edgeThreshold);
+            if (!starts.add(new PointSet(solution))) continue;
+            population.add(localSearch(solution, points, edgeThreshold));
+        }
+    }
+
+    // ring topology: every island sends copies of its best solutions to the next island,
+    // where they compete with the local ones at the next truncation
+    private void migrate(List<Population> islands) {
+        List<List<ArrayList<Point>>> migrants = new ArrayList<>();
+        for (Population island : islands) {
+            migrants.add(island.best(MIGRANTS));
+        }
+        for (int island = 0; island < islands.size(); island++) {
+            for (ArrayList<Point> migrant : migrants.get(island)) {
+                islands.get((island + 1) % islands.size()).add(migrant);
+            }
+        }
+    }
+
+    // runs work for 0 .. count-1 as tasks of the search pool, a single one runs on the calling thread
+    private <T> List<T> inParallel(int count, IntFunction<T> work) {
+        if (count == 1) {
+            return new ArrayList<>(List.of(work.apply(0)));
+        }
+        List<ForkJoinTask<T>> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            tasks.add(pool.submit(() -> work.apply(index)));
+        }
+        List<T> results = new ArrayList<>();
+        for (ForkJoinTask<T> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    private Population generateInitialPopulation(PointSet points, int edgeThreshold, int size){
         if (points == null || points.isEmpty()) {
             throw new IllegalArgumentException("Input points are null or empty.");
         }
 
-        PriorityQueue<ArrayList<Point>> population = new PriorityQueue<>(Comparator.comparingInt(this::score));
-        for (int i = 0; i < size; i++){
-            ArrayList<Point> solution = greedy(points, edgeThreshold);
-            if(solution.isEmpty()){
-                System.out.println("Warning: Generated an empty solution during initial population generation");
-            }
-            population.add(localSearch(greedy(points, edgeThreshold), points, edgeThreshold));
+        Population population = new Population();
+        if (warmSolution != null) {
+            population.add(localSearch(repairWarmSolution(), points, edgeThreshold));
         }
+        fill(population, points, edgeThreshold, size);
         return population;
     }
 
-    private ArrayList<Point> greedy(PointSet points, int edgeThreshold) {
-        PointSet pointsCopy = new PointSet(points); // Create a copy of points
+    // the warm solution made valid for the kernel component: the reductions may have bypassed some of its vertices,
+    // so the other vertices go back into the forest one by one and the ones closing a cycle are added
+    private ArrayList<Point> repairWarmSolution() {
+        boolean[] inWarm = new boolean[pointCount];
+        for (int id : warmSolution) inWarm[id] = true;
+        int[] forest = new int[pointCount - warmSolution.length];
+        for (int id = 0, k = 0; id < pointCount; id++) {
+            if (!inWarm[id]) forest[k++] = id;
+        }
+        return toPoints(new ReverseGreedy(graph).repair(forest));
+    }
 
-        Random random = new Random();
-        ArrayList<Point> result = new ArrayList<>();
+    private ArrayList<Point> construct(PointSet points, int edgeThreshold) {
+        return switch (construction) {
+            case GREEDY -> greedy(points, edgeThreshold);
+            case REVERSE_GREEDY -> reverseGreedy(points, edgeThreshold);
+        };
+    }
 
-        while (!isSolution(result, pointsCopy, edgeThreshold)) {
-            HashMap<Point, Integer> degreeCache = new HashMap<>();
-            top: while (true) {
-                degreeCache.clear();
-                for (Point p : pointsCopy) {
-                    int res = degree(p, pointsCopy, edgeThreshold);
-                    if (res <= 1) { // throw out leaf nodes, almost never happens
-                        pointsCopy.remove(p);
-                        continue top;
-                    }
-                    degreeCache.put(p, res);
-                }
-                break;
-            }
+    ArrayList<Point> greedy(PointSet points, int edgeThreshold) {
+        // degrees are maintained incrementally in bucket queues, leaves are peeled as they appear
+        int[] picks = new BucketGreedy(graph).run(points.toIdArray(), random);
+        metrics.greedyPicks.add(picks.length);
+        return toPoints(picks);
+    }
 
-            if (pointsCopy.isEmpty()) {
-                System.err.println("Error: Points exhausted before FVS is valid.");
-                break;
-            }
-            List<Point> sortedPoints = new ArrayList<>(pointsCopy);
+    private ArrayList<Point> reverseGreedy(PointSet points, int edgeThreshold) {
+        // cycle checks are union-find lookups on the trees built so far
+        int[] picks = new ReverseGreedy(graph).run(points.toIdArray(), random);
+        metrics.greedyPicks.add(picks.length);
+        return toPoints(picks);
+    }
 
-            Collections.shuffle(sortedPoints);
-            sortedPoints.sort((a, b) -> degreeCache.get(b) - degreeCache.get(a));
-            //get the highest degree node 9/10 times and the second highest 1/10 times
-            Point chosenOne = random.nextInt(10) == 0 && sortedPoints.size() > 1
-                    ? sortedPoints.get(1)
-                    : sortedPoints.get(0);
-            result.add(chosenOne);
-            pointsCopy.remove(chosenOne);
+    private ArrayList<Point> toPoints(int[] ids) {
+        ArrayList<Point> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(simplePointArr[id]);
         }
-
         return result;
     }
+    private int[] toIds(ArrayList<Point> points) {
+        return points.stream().mapToInt(p -> p.id).toArray();
+    }
+
     private ArrayList<Point> localSearch(ArrayList<Point> solution, PointSet points, int edgeThreshold) {
         ArrayList<Point> current = new ArrayList<>(solution);
 
         //System.out.println("LS. First sol: " + current.size());
         ArrayList<Point> next;
-        while (true) {
+        while (!timeUp()) {
             next = remove2add1(current, points, edgeThreshold);
             if (score(next) >= score(current)) break;
             current = next;
         }
-        //while (true) {
-        //    next = remove3add2(current, points, edgeThreshold);
-        //    if (score(next) >= score(current)) break;
-        //    current = next;
-        //}
 
         //System.out.println("LS. Last sol: " + current.size());
         return current;
     }
-    private ArrayList<Point> remove2add1(ArrayList<Point> candidate, PointSet points, int edgeThreshold) {
+    ArrayList<Point> remove2add1(ArrayList<Point> candidate, PointSet points, int edgeThreshold) {
         ArrayList<Point> test = new ArrayList<>(candidate);
-        Collections.shuffle(test);
+        Collections.shuffle(test, random);
         PointSet rest = new PointSet(points);
         test.forEach(rest::remove);
-        AtomicBoolean done = new AtomicBoolean(false);
-        Semaphore semaphore = new Semaphore(0);
-        for (int i=0;i<test.size();i++) {
-            Point p = test.get(i);
-            PointSet solutionRest = new PointSet(rest);
-            solutionRest.add(p);
-            int finalI = i;
-
-            ArrayList<Point>[] neighbors = new ArrayList[pointCount];
-            for (Point q: solutionRest) {
-                ArrayList<Point> qNeighbors = new ArrayList<>();
-                for (Point r: solutionRest) {
-                    if (q != r && isEdge(q, r, edgeThreshold)) {
-                        qNeighbors.add(r);
-                    }
-                }
-                neighbors[q.id] = qNeighbors;
-            }
-
-            Thread thread = new Thread(() -> {
-                for (int j = finalI + 1; j < test.size(); j++) {
-                    if (done.get()) break;
-                    Point q = test.get(j);
-                    solutionRest.add(q);
-
-                    for (Point r : rest) {
-                        solutionRest.remove(r);
-                        if (isSolution(solutionRest, edgeThreshold, neighbors, q, r)) {
-                            if (done.getAndSet(true)) break;
-                            test.remove(j);
-                            test.remove(finalI);
-                            test.add(r);
-                            semaphore.release(test.size());
-                        }
-                        solutionRest.add(r);
-                    }
-
-                    solutionRest.remove(q);
-                }
-                semaphore.release();
-            });
-            thread.start();
+        // the rest is a forest, its trees are labeled once and every (p, q) pair is evaluated against them
+        int[] treeLabels = swapEvaluator.labelTrees(rest.words);
+        boolean[] hopeless = new boolean[test.size()];
+        for (int i = 0; i < test.size(); i++) {
+            hopeless[i] = swapEvaluator.cyclicTrees(rest.words, treeLabels, test.get(i).id) > 1;
         }
-
-        try {
-            semaphore.acquire(test.size());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+        // first improvement: the first task to find a move publishes it, the others see it and stop
+        AtomicReference<int[]> move = new AtomicReference<>();
+        int[] ids = new int[test.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = test.get(i).id;
         }
-        return test;
-    }
-
-    // i never got it to find any better solutions so we dont use it
-    private ArrayList<Point> remove3add2(ArrayList<Point> candidate, PointSet points, int edgeThreshold) {
-        ArrayList<Point> currentSolution = new ArrayList<>(candidate);
-        PointSet rest = new PointSet(points);
-        currentSolution.forEach(rest::remove);
-        AtomicBoolean done = new AtomicBoolean(false);
-        Point[] restArr = new Point[rest.size];
-        {
-            Iterator<Point> it = rest.iterator();
-            for (int i = 0; i < rest.size; i++) {
-                restArr[i] = it.next();
+        pool.invoke(new SwapSearch(ids, 0, ids.length, rest.words, treeLabels, hopeless, move));
+
+        int[] found = move.get();
+        if (found != null) {
+            metrics.swapsAccepted.increment();
+            test.remove(found[1]);
+            test.remove(found[0]);
+            if (found[2] != SwapEvaluator.NO_EVICTION) {
+                test.add(simplePointArr[found[2]]);
             }
         }
+        return test;
+    }
 
-        ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
-        Semaphore semaphore = new Semaphore(0);
-
-        int threadCount = Math.min(Runtime.getRuntime().availableProcessors(), currentSolution.size());
-        ExecutorService threadPool = Executors.newFixedThreadPool(threadCount);
-
-        // Timeout task
-        executor.schedule(() -> {
-            done.set(true);
-            semaphore.release(threadCount);
-        }, 1, TimeUnit.SECONDS);
-
-        for (int t = 0; t < threadCount; t++) {
-            threadPool.submit(() -> {
-                Random random = new Random();
-                PointSet currentRest = new PointSet(rest);
-                while (!done.get()) {
-                    if (candidate.size() < 5) break;
-                    if (restArr.length < 5) break;
-                    Point p1 = candidate.get(random.nextInt(candidate.size()));
-                    currentRest.add(p1);
-                    Point p2;
-                    while ((p2 = candidate.get(random.nextInt(candidate.size()))) == p1) {}
-                    currentRest.add(p2);
-                    Point p3;
-                    while ((p3 = candidate.get(random.nextInt(candidate.size()))) == p1 || p3 == p2) {}
-                    currentRest.add(p3);
-
-
-                    Point r1 = restArr[random.nextInt(restArr.length)];
-                    currentRest.remove(r1);
-                    Point r2;
-                    while ((r2 = restArr[random.nextInt(restArr.length)]) == r1) {}
-                    currentRest.remove(r2);
-
-                    if (isSolution(currentRest, edgeThreshold, null, null, null)) {
-                        if (!done.getAndSet(true)) break;
-                        PointSet solution = new PointSet(points);
-                        solution.removeAll(currentRest);
-                        currentSolution.clear();
-                        currentSolution.addAll(solution);
-                        semaphore.release(threadCount);
-                        break;
-                    }
-                    currentRest.add(r2);
-                    currentRest.add(r1);
-                    currentRest.remove(p3);
-                    currentRest.remove(p2);
-                    currentRest.remove(p1);
-                }
-                semaphore.release();
-            });
-        }
-
-        try {
-            semaphore.acquire(threadCount);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+    // tries the pairs (i, j > i) for every i in [from, to), splitting the range over the pool
+    // the move found is handed back as {i, j, r} through the atomic reference
+    private final class SwapSearch extends RecursiveAction {
+        private final int[] ids;
+        private final int from, to;
+        private final long[] forest;
+        private final int[] treeLabels;
+        private final boolean[] hopeless;
+        private final AtomicReference<int[]> move;
+
+        SwapSearch(int[] ids, int from, int to, long[] forest, int[] treeLabels, boolean[] hopeless, AtomicReference<int[]> move) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+            this.forest = forest;
+            this.treeLabels = treeLabels;
+            this.hopeless = hopeless;
+            this.move = move;
         }
 
-        threadPool.shutdownNow();
-        executor.shutdownNow();
-        return currentSolution;
-    }
-    private boolean isSolution(ArrayList<Point> candidate, PointSet pointsIn, int edgeThreshold) {
-        PointSet rest = new PointSet(pointsIn);
-        candidate.forEach(rest::remove);
-        return isSolution(rest, edgeThreshold, null, null, null);
-    }
-    private boolean isSolution(PointSet rest, int edgeThreshold, ArrayList<Point>[] neighbors, Point q, Point r) {
-        if (rest.isEmpty()) return true;
-        Point[] restArray = new Point[rest.size]; // for quick iteration
-        {
-            Iterator<Point> setIt = rest.iterator();
-            for (int i = 0; i < restArray.length; i++) {
-                restArray[i] = setIt.next();
+        @Override
+        protected void compute() {
+            if (from >= to || move.get() != null) return;
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SwapSearch(ids, from, middle, forest, treeLabels, hopeless, move),
+                        new SwapSearch(ids, middle, to, forest, treeLabels, hopeless, move));
+                return;
             }
-        }
-        PointSet notVisited = new PointSet(rest);
-        ArrayDeque<Pair<Point, Point>> stack = new ArrayDeque<>();
-
-        int curId = 0;
-
-        while (!notVisited.isEmpty()) {
-            while (!notVisited.containsId(curId)) curId++;
-            stack.push(new Pair<>(null, simplePointArr[curId]));
-            notVisited.removeId(curId);
-
-            while (!stack.isEmpty()) {
-                Pair<Point, Point> frame = stack.pop();
-                Point parent = frame.first, current = frame.second;
-                notVisited.remove(current);
-                if (neighbors == null || current == q) {
-                    for (Point other : restArray) {
-                        if (other != current && other != parent && isEdge(current, other, edgeThreshold)) {
-                            if (!notVisited.contains(other)) return false;
-                            stack.push(new Pair<>(current, other));
-                        }
-                    }
-                } else {
-                    ArrayList<Point> curNeighbors = neighbors[current.id];
-                    for (int i = 0, l = curNeighbors.size(); i < l; i++) {
-                        Point other = curNeighbors.get(i);
-                        if (other != r && other != parent) {
-                            if (!notVisited.contains(other)) return false;
-                            stack.push(new Pair<>(current, other));
-                        }
-                    }
-                    if (q != parent && isEdge(current, q, edgeThreshold)) {
-                        if (!notVisited.contains(q)) return false;
-                        stack.push(new Pair<>(current, q));
-                    }
+            int i = from;
+            if (hopeless[i]) return;
+            int tried = 0;
+            for (int j = i + 1; j < ids.length; j++) {
+                if (move.get() != null || timeUp()) break;
+                if (hopeless[j]) continue;
+                tried++;
+                int r = swapEvaluator.findEviction(forest, treeLabels, ids[i], ids[j]);
+                if (r != SwapEvaluator.NOT_FOUND) {
+                    move.compareAndSet(null, new int[]{i, j, r});
+                    break;
                 }
             }
+            metrics.swapsTried.add(tried);
         }
-
-        return true;
     }
-    private boolean isEdge(Point p, Point q, int edgeThreshold) {
-        return edgeMap[(p.id << pointCountShift) + q.id];
-    }
-    private int degree(Point p, Collection<Point> points, int edgeThreshold) {
-        int degree=0;
-        for (Point q: points) if (isEdge(p,q,edgeThreshold)) degree++;
-        return degree;
+
+    boolean isSolution(PointSet rest, int edgeThreshold) {
+        // zero allocation DFS with per thread scratch buffers
+        return forestChecker.isForest(rest.words, rest.size);
     }
     private int score(ArrayList<Point> candidate) {
         return candidate.size();
     }
 
+    // the batch runner, by default 100 instances of 150 points like the old loop but generated in memory
     public static void main(String[] args) {
-        // Create an instance of DefaultTeam and Evaluation
-
-        DefaultTeam team = new DefaultTeam();
-        Evaluation eval = new Evaluation();
-
-        String filePath = "input.points"; // Path to the file
-
-        RandomPointsGenerator randomPointsGenerator = new RandomPointsGenerator();
-
-        int totalFVSsize = 0;
-        int validSolutions = 0;
-
-        for (int i =0; i<100; i++){
-            randomPointsGenerator.generate(150);
-
-            ArrayList<java.awt.Point> points = new ArrayList<>();
-            // Read points from file
-            try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    String[] parts = line.split(" ");
-                    int x = Integer.parseInt(parts[0]);
-                    int y = Integer.parseInt(parts[1]);
-                    points.add(new java.awt.Point(x, y));
-                }
-            } catch (IOException e) {
-                System.err.println("Error reading file: " + e.getMessage());
-                return;
-            }
-
-            // Define edgeThreshold (modify as needed)
-            int edgeThreshold = 100;
-
-            ArrayList<java.awt.Point> fvs = team.calculFVS(points, edgeThreshold);
-
-            boolean isValid = eval.isValid(points, fvs, edgeThreshold);
-
-            // Print results
-            System.out.println("Computed Feedback Vertex Set (FVS):");
-            for (java.awt.Point p : fvs) {
-                System.out.println(p);
-            }
-            System.out.println("Size of FVS: " + fvs.size());
-            System.out.println("Is solution valid? " + (isValid ? "Yes" : "No"));
-            if(isValid){
-                totalFVSsize += fvs.size();
-                validSolutions++;
-            }
-            System.err.println("Average current size of FVS: " + (double)totalFVSsize/(i+1));
-        }
-        System.out.println("Average size of FVS: " + (double)totalFVSsize/100);
-        System.out.println("Valid solutions: " + validSolutions + "/100");
-
+        BatchRunner.main(args);
     }
 
 }
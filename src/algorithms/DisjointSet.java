@@ -0,0 +1,42 @@
+package algorithms;
+
+// union-find over vertex ids with union by size and path halving, find is amortized O(alpha(n))
+final class DisjointSet {
+    private final int[] parent;
+    private final int[] size;
+
+    DisjointSet(int n) {
+        parent = new int[n];
+        size = new int[n];
+        reset();
+    }
+
+    void reset() {
+        for (int v = 0; v < parent.length; v++) {
+            parent[v] = v;
+            size[v] = 1;
+        }
+    }
+
+    int find(int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    // false when u and v were already in the same set
+    boolean union(int u, int v) {
+        int ru = find(u), rv = find(v);
+        if (ru == rv) return false;
+        if (size[ru] < size[rv]) {
+            int tmp = ru;
+            ru = rv;
+            rv = tmp;
+        }
+        parent[rv] = ru;
+        size[ru] += size[rv];
+        return true;
+    }
+}
@@ -0,0 +1,328 @@
+package algorithms;
+
+import java.awt.Point;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+
+// keeps a feedback vertex set of a point cloud up to date under point insertions, moves and removals
+// the points sit in a hash grid with cells of edgeThreshold, so an update only computes the adjacency of the moved point,
+// then the solution is repaired around it: the point joins the forest unless it closes a cycle, and the solution
+// points within two hops get the moves of the local search (back into the forest, or two in for one out)
+// the trees are explored on demand from the touched vertices, nothing global is rebuilt
+// points are designated by the handle returned by add (the initial points have the handles 0 .. n-1)
+public final class DynamicFVS {
+    private static final int MAX_REGION = 64; //solution points considered by the repair of one update
+
+    private final int edgeThreshold;
+    private final int cellSize;
+    private final HashMap<Long, ArrayList<Integer>> grid = new HashMap<>();
+    private Point[] points; // null once removed
+    private int[][] adjacency;
+    private int[] degree;
+    private boolean[] inSolution;
+    private int count = 0;
+    private int solutionSize = 0;
+
+    // DFS scratch, stamps[v] == epoch marks v as visited
+    private int[] stamps;
+    private int[] parent;
+    private int[] stack;
+    private int[] cycle;
+    private int epoch = 0;
+
+    // the initial solution comes from calculFVS, budget (may be null) limits it like in calculFVS
+    public DynamicFVS(ArrayList<Point> initialPoints, int edgeThreshold, Duration budget) {
+        this.edgeThreshold = edgeThreshold;
+        this.cellSize = Math.max(1, edgeThreshold);
+        int capacity = Math.max(16, initialPoints.size());
+        points = new Point[capacity];
+        adjacency = new int[capacity][];
+        degree = new int[capacity];
+        inSolution = new boolean[capacity];
+        stamps = new int[capacity];
+        parent = new int[capacity];
+        stack = new int[capacity];
+        cycle = new int[capacity];
+
+        if (initialPoints.isEmpty()) return;
+        int[][] neighborLists = new SpatialGrid(initialPoints, cellSize).neighborLists(edgeThreshold);
+        for (int v = 0; v < initialPoints.size(); v++) {
+            points[v] = initialPoints.get(v);
+            adjacency[v] = neighborLists[v];
+            degree[v] = neighborLists[v].length;
+            grid.computeIfAbsent(cellKey(points[v]), key -> new ArrayList<>()).add(v);
+        }
+        count = initialPoints.size();
+
+        IdentityHashMap<Point, Integer> handles = new IdentityHashMap<>();
+        for (int v = 0; v < count; v++) handles.put(points[v], v);
+        for (Point p : new DefaultTeam().calculFVS(initialPoints, edgeThreshold, budget, null)) {
+            int v = handles.get(p);
+            if (!inSolution[v]) {
+                inSolution[v] = true;
+                solutionSize++;
+            }
+        }
+    }
+
+    public int add(Point p) {
+        if (count == points.length) grow();
+        int v = count++;
+        points[v] = p;
+        adjacency[v] = new int[4];
+        link(v);
+        place(v, region(v));
+        return v;
+    }
+
+    public void move(int handle, Point to) {
+        checkHandle(handle);
+        LinkedHashSet<Integer> affected = region(handle);
+        unlink(handle);
+        points[handle] = to;
+        link(handle);
+        affected.addAll(region(handle));
+        place(handle, affected);
+    }
+
+    public void remove(int handle) {
+        checkHandle(handle);
+        LinkedHashSet<Integer> affected = region(handle);
+        affected.remove(handle);
+        if (inSolution[handle]) {
+            inSolution[handle] = false;
+            solutionSize--;
+        }
+        unlink(handle);
+        points[handle] = null;
+        repair(affected);
+    }
+
+    public ArrayList<Point> solution() {
+        ArrayList<Point> result = new ArrayList<>(solutionSize);
+        for (int v = 0; v < count; v++) {
+            if (points[v] != null && inSolution[v]) result.add(points[v]);
+        }
+        return result;
+    }
+
+    public ArrayList<Point> points() {
+        ArrayList<Point> result = new ArrayList<>();
+        for (int v = 0; v < count; v++) {
+            if (points[v] != null) result.add(points[v]);
+        }
+        return result;
+    }
+
+    public int solutionSize() {
+        return solutionSize;
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= count || points[handle] == null) {
+            throw new IllegalArgumentException("No point with handle " + handle + ".");
+        }
+    }
+
+    private void grow() {
+        int capacity = points.length * 2;
+        points = Arrays.copyOf(points, capacity);
+        adjacency = Arrays.copyOf(adjacency, capacity);
+        degree = Arrays.copyOf(degree, capacity);
+        inSolution = Arrays.copyOf(inSolution, capacity);
+        stamps = Arrays.copyOf(stamps, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        stack = Arrays.copyOf(stack, capacity);
+        cycle = Arrays.copyOf(cycle, capacity);
+    }
+
+    private long cellKey(Point p) {
+        return (Math.floorDiv((long) p.x, cellSize) << 32) ^ (Math.floorDiv((long) p.y, cellSize) & 0xffffffffL);
+    }
+
+    // puts v into the grid and connects it to the points of its 3x3 cell block
+    private void link(int v) {
+        Point p = points[v];
+        long cx = Math.floorDiv((long) p.x, cellSize), cy = Math.floorDiv((long) p.y, cellSize);
+        degree[v] = 0;
+        for (long gx = cx - 1; gx <= cx + 1; gx++) {
+            for (long gy = cy - 1; gy <= cy + 1; gy++) {
+                ArrayList<Integer> cell = grid.get((gx << 32) ^ (gy & 0xffffffffL));
+                if (cell == null) continue;
+                for (int u : cell) {
+                    if (SpatialGrid.isClose(p.x, p.y, points[u].x, points[u].y, edgeThreshold)) {
+                        addNeighbor(v, u);
+                        addNeighbor(u, v);
+                    }
+                }
+            }
+        }
+        grid.computeIfAbsent(cellKey(p), key -> new ArrayList<>()).add(v);
+    }
+
+    private void unlink(int v) {
+        for (int i = 0; i < degree[v]; i++) {
+            int u = adjacency[v][i];
+            for (int j = 0; j < degree[u]; j++) {
+                if (adjacency[u][j] == v) {
+                    adjacency[u][j] = adjacency[u][--degree[u]];
+                    break;
+                }
+            }
+        }
+        degree[v] = 0;
+        ArrayList<Integer> cell = grid.get(cellKey(points[v]));
+        cell.remove(Integer.valueOf(v));
+        if (cell.isEmpty()) grid.remove(cellKey(points[v]));
+    }
+
+    private void addNeighbor(int v, int u) {
+        if (degree[v] == adjacency[v].length) adjacency[v] = Arrays.copyOf(adjacency[v], Math.max(4, 2 * degree[v]));
+        adjacency[v][degree[v]++] = u;
+    }
+
+    // v and the solution points within two hops of it
+    private LinkedHashSet<Integer> region(int v) {
+        LinkedHashSet<Integer> region = new LinkedHashSet<>();
+        region.add(v);
+        for (int i = 0; i < degree[v] && region.size() < MAX_REGION; i++) {
+            int u = adjacency[v][i];
+            if (inSolution[u]) region.add(u);
+            for (int j = 0; j < degree[u] && region.size() < MAX_REGION; j++) {
+                if (inSolution[adjacency[u][j]]) region.add(adjacency[u][j]);
+            }
+        }
+        return region;
+    }
+
+    // v is new at its position: it goes into the forest if it closes no cycle, otherwise into the solution
+    private void place(int v, LinkedHashSet<Integer> affected) {
+        if (inSolution[v]) {
+            inSolution[v] = false;
+            solutionSize--;
+        }
+        if (!insertable(v)) {
+            inSolution[v] = true;
+            solutionSize++;
+        }
+        repair(affected);
+    }
+
+    // local search restricted to the affected solution points, until no move applies
+    private void repair(LinkedHashSet<Integer> affected) {
+        ArrayList<Integer> candidates = new ArrayList<>();
+        for (int v : affected) {
+            if (points[v] != null && inSolution[v]) candidates.add(v);
+        }
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 0; i < candidates.size(); i++) {
+                int u = candidates.get(i);
+                if (inSolution[u] && insertable(u)) {
+                    inSolution[u] = false;
+                    solutionSize--;
+                    improved = true;
+                }
+            }
+            candidates.removeIf(u -> !inSolution[u]);
+            for (int i = 0; i < candidates.size() && !improved; i++) {
+                for (int j = i + 1; j < candidates.size() && !improved; j++) {
+                    int p = candidates.get(i), q = candidates.get(j);
+                    int r = findEviction(p, q);
+                    if (r == SwapEvaluator.NOT_FOUND) continue;
+                    inSolution[p] = false;
+                    inSolution[q] = false;
+                    solutionSize -= 2;
+                    if (r != SwapEvaluator.NO_EVICTION) {
+                        inSolution[r] = true;
+                        solutionSize++;
+                        candidates.add(r);
+                    }
+                    improved = true;
+                }
+            }
+            candidates.removeIf(u -> !inSolution[u]);
+        }
+    }
+
+    private int nextEpoch() {
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            epoch = 0;
+        }
+        return ++epoch;
+    }
+
+    // v can join the forest when no two of its forest neighbors are in the same tree
+    private boolean insertable(int v) {
+        int mark = nextEpoch();
+        for (int i = 0; i < degree[v]; i++) {
+            int w = adjacency[v][i];
+            if (inSolution[w]) continue;
+            if (stamps[w] == mark) return false;
+            // the whole tree of w, v itself is not in the forest yet
+            stamps[w] = mark;
+            int top = 0;
+            stack[top++] = w;
+            while (top > 0) {
+                int x = stack[--top];
+                for (int k = 0; k < degree[x]; k++) {
+                    int y = adjacency[x][k];
+                    if (y == v || inSolution[y] || stamps[y] == mark) continue;
+                    stamps[y] = mark;
+                    stack[top++] = y;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean inForest(int v, int p, int q, int excluded) {
+        return v != excluded && (v == p || v == q || !inSolution[v]);
+    }
+
+    // a forest point r such that forest + p + q - r is acyclic, SwapEvaluator.NO_EVICTION or SwapEvaluator.NOT_FOUND
+    // the same move as SwapEvaluator.findEviction, without its tree labels: they would have to be maintained
+    // under every update, while here only the few pairs around one update are evaluated
+    private int findEviction(int p, int q) {
+        int length = findCycle(p, q, -1);
+        if (length == 0) return SwapEvaluator.NO_EVICTION;
+        int[] candidates = Arrays.copyOf(cycle, length);
+        for (int r : candidates) {
+            if (r != p && r != q && findCycle(p, q, r) == 0) return r;
+        }
+        return SwapEvaluator.NOT_FOUND;
+    }
+
+    // DFS over forest + p + q - excluded from p and q (the rest of the forest has no cycle)
+    // returns 0 without a cycle, otherwise the length of a cycle whose vertices are put in cycle
+    // it walks the mutable adjacency lists, where SwapEvaluator walks the CSR graph and a bitset forest,
+    // and the graph here is simple, so unlike SwapEvaluator there is no double edge to tell from the parent edge
+    private int findCycle(int p, int q, int excluded) {
+        int mark = nextEpoch();
+        for (int root : new int[]{p, q}) {
+            if (stamps[root] == mark) continue;
+            stamps[root] = mark;
+            parent[root] = -1;
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int v = stack[--top];
+                for (int k = 0; k < degree[v]; k++) {
+                    int u = adjacency[v][k];
+                    if (u == parent[v] || !inForest(u, p, q, excluded)) continue;
+                    if (stamps[u] == mark) return SwapEvaluator.cycleThrough(parent, stamps, nextEpoch(), cycle, v, u);
+                    stamps[u] = mark;
+                    parent[u] = v;
+                    stack[top++] = u;
+                }
+            }
+        }
+        return 0;
+    }
+}
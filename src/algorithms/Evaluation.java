@@ -1,5 +1,9 @@
 package algorithms;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.awt.Point;
 
 public class Evaluation {
@@ -38,4 +42,69 @@ public class Evaluation {
 
     return result;
   }
+
+  //Same answer as isValid in O(n + m): the fvs is hashed, the neighbors come from a spatial grid and the cycles
+  //are found with one union-find pass over the edges of the remaining points
+  public boolean isValidFast(ArrayList<Point> origPoints, ArrayList<Point> fvs, int edgeThreshold){
+    return witnessCycle(origPoints, fvs, edgeThreshold) == null;
+  }
+
+  //null when origPoints \setminus fvs induces a forest, otherwise the points of a cycle in that subgraph (in cycle order)
+  //like isValid, points at the same coordinates are one point for the fvs but several copies are a cycle
+  //as soon as the coordinates have a neighbor (copy, neighbor, other copy)
+  public ArrayList<Point> witnessCycle(ArrayList<Point> origPoints, ArrayList<Point> fvs, int edgeThreshold){
+    HashSet<Point> removed = new HashSet<Point>(fvs);
+    HashMap<Point,Integer> copies = new HashMap<Point,Integer>();
+    ArrayList<Point> vertices = new ArrayList<Point>();
+    for (Point p:origPoints) {
+      if (removed.contains(p)) continue;
+      if (copies.merge(p, 1, Integer::sum) == 1) vertices.add(p);
+    }
+
+    Graph graph = Graph.build(vertices, edgeThreshold);
+    for (int v=0;v<vertices.size();v++) {
+      if (copies.get(vertices.get(v)) > 1 && graph.degree(v) > 0) {
+        Point copy = vertices.get(v);
+        ArrayList<Point> cycle = new ArrayList<Point>();
+        cycle.add(copy);
+        cycle.add(vertices.get(graph.targets[graph.offsets[v]]));
+        cycle.add(new Point(copy));
+        return cycle;
+      }
+    }
+
+    //union-find over the edges, the edges joined so far are kept to give back the tree path closing a cycle
+    DisjointSet trees = new DisjointSet(vertices.size());
+    ArrayList<ArrayList<Integer>> forest = new ArrayList<ArrayList<Integer>>();
+    for (int v=0;v<vertices.size();v++) forest.add(new ArrayList<Integer>());
+    for (int v=0;v<vertices.size();v++) {
+      for (int e=graph.offsets[v];e<graph.offsets[v+1];e++) {
+        int u = graph.targets[e];
+        if (u < v) continue;
+        if (!trees.union(v, u)) return treePath(forest, vertices, u, v);
+        forest.get(v).add(u);
+        forest.get(u).add(v);
+      }
+    }
+    return null;
+  }
+  private ArrayList<Point> treePath(ArrayList<ArrayList<Integer>> forest, ArrayList<Point> vertices, int from, int to){
+    int[] parent = new int[vertices.size()];
+    Arrays.fill(parent, -2);
+    ArrayList<Integer> queue = new ArrayList<Integer>();
+    queue.add(from);
+    parent[from] = -1;
+    for (int head=0;parent[to]==-2;head++) {
+      int v = queue.get(head);
+      for (int u:forest.get(v)) {
+        if (parent[u] != -2) continue;
+        parent[u] = v;
+        queue.add(u);
+      }
+    }
+    ArrayList<Point> cycle = new ArrayList<Point>();
+    for (int v=to;v!=-1;v=parent[v]) cycle.add(vertices.get(v));
+    Collections.reverse(cycle);
+    return cycle;
+  }
 }
@@ -0,0 +1,279 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// exact FVS by branch and reduce, meant for the small components of the kernel
+// a search node is the remaining multigraph (adjacency matrix, multiplicities capped at 2) in which some vertices
+// are permanent, i.e. decided to stay in the forest, plus the vertices taken into the solution so far
+// at every node the reduction rules run until none applies, then the deletable vertex of highest degree
+// is either taken or made permanent, the two branches are forked into the pool near the root
+// a node is cut when the vertices taken plus a lower bound on the rest can't beat the best solution
+final class ExactSolver {
+    // the search proves components of about 60 vertices in well under a million nodes, the larger ones of
+    // random instances (a 150 points instance kernel is one component of ~145 vertices) don't finish at all
+    static final int MAX_VERTICES = 64;
+    private static final int FORK_DEPTH = 12; //deeper branches are explored sequentially
+
+    private final int n;
+    private final Graph graph;
+    private final ForkJoinPool pool;
+    private final BooleanSupplier timeUp;
+    private final long maxNodes;
+    private final AtomicLong nodes = new AtomicLong();
+    private volatile boolean stopped = false;
+    private volatile int bestSize;
+    private int[] best;
+    private Consumer<int[]> onImprovement;
+
+    // the search stops early once timeUp says so or after maxNodes nodes, the result is then not proved optimal
+    ExactSolver(Graph graph, ForkJoinPool pool, BooleanSupplier timeUp, long maxNodes) {
+        if (graph.size() > MAX_VERTICES) {
+            throw new IllegalArgumentException("The exact solver only takes graphs of up to " + MAX_VERTICES + " vertices.");
+        }
+        this.n = graph.size();
+        this.graph = graph;
+        this.pool = pool;
+        this.timeUp = timeUp;
+        this.maxNodes = maxNodes;
+    }
+
+    private final class Node {
+        final byte[] adjacency; // multiplicity of the edge u-v at u * n + v
+        final int[] degree; // with multiplicities, -1 once the vertex is out of the graph
+        final boolean[] permanent;
+        final int[] taken;
+        int takenCount = 0;
+
+        Node() {
+            adjacency = new byte[n * n];
+            degree = new int[n];
+            permanent = new boolean[n];
+            taken = new int[n];
+        }
+
+        Node(Node other) {
+            adjacency = other.adjacency.clone();
+            degree = other.degree.clone();
+            permanent = other.permanent.clone();
+            taken = other.taken.clone();
+            takenCount = other.takenCount;
+        }
+
+        void removeVertex(int v) {
+            for (int u = 0; u < n; u++) {
+                int m = adjacency[v * n + u];
+                if (m == 0) continue;
+                degree[u] -= m;
+                adjacency[u * n + v] = 0;
+                adjacency[v * n + u] = 0;
+            }
+            degree[v] = -1;
+        }
+
+        void take(int v) {
+            taken[takenCount++] = v;
+            removeVertex(v);
+        }
+
+        void addEdges(int u, int w, int count) {
+            int old = adjacency[u * n + w];
+            int added = Math.min(2, old + count) - old;
+            adjacency[u * n + w] += added;
+            adjacency[w * n + u] += added;
+            degree[u] += added;
+            degree[w] += added;
+        }
+
+        // merges the permanent neighbor u into the permanent vertex v, the edge u-v disappears with u
+        void contract(int v, int u) {
+            for (int x = 0; x < n; x++) {
+                int m = adjacency[u * n + x];
+                if (m > 0 && x != v) addEdges(v, x, m);
+            }
+            removeVertex(u);
+        }
+    }
+
+    // an optimal solution (ids of the graph), or the best one found if the search was stopped early
+    // initial is a known solution used as the first upper bound (null for none)
+    // onImprovement (may be null) gets every solution better than the previous best
+    int[] solve(int[] initial, Consumer<int[]> onImprovement) {
+        this.onImprovement = onImprovement;
+        if (initial == null) {
+            initial = new int[n];
+            for (int v = 0; v < n; v++) initial[v] = v;
+        }
+        best = initial.clone();
+        bestSize = best.length;
+
+        Node root = new Node();
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                int u = graph.targets[e];
+                if (u != v && adjacency(root, v, u) < 2) {
+                    root.adjacency[v * n + u]++;
+                    root.degree[v]++;
+                }
+            }
+        }
+        pool.invoke(new Branch(root, 0));
+        synchronized (this) {
+            return best.clone();
+        }
+    }
+
+    private int adjacency(Node node, int u, int v) {
+        return node.adjacency[u * n + v];
+    }
+
+    // true when the last solve explored the whole tree
+    boolean optimal() {
+        return !stopped;
+    }
+
+    long nodes() {
+        return nodes.get();
+    }
+
+    private final class Branch extends RecursiveAction {
+        private final Node node;
+        private final int depth;
+
+        Branch(Node node, int depth) {
+            this.node = node;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            explore(node, depth);
+        }
+    }
+
+    private void explore(Node node, int depth) {
+        if (stopped) return;
+        if (nodes.incrementAndGet() > maxNodes || timeUp.getAsBoolean()) {
+            stopped = true;
+            return;
+        }
+        if (!reduce(node)) return;
+
+        int alive = 0, twiceEdges = 0, pick = -1;
+        for (int v = 0; v < n; v++) {
+            if (node.degree[v] < 0) continue;
+            alive++;
+            twiceEdges += node.degree[v];
+            if (!node.permanent[v] && (pick == -1 || node.degree[v] > node.degree[pick])) pick = v;
+        }
+        if (alive == 0) {
+            offer(node);
+            return;
+        }
+        if (node.takenCount + lowerBound(node, twiceEdges / 2 - alive + 1) >= bestSize) return;
+
+        Node taken = new Node(node);
+        taken.take(pick);
+        node.permanent[pick] = true;
+        if (depth < FORK_DEPTH) {
+            ForkJoinTask.invokeAll(new Branch(taken, depth + 1), new Branch(node, depth + 1));
+        } else {
+            explore(taken, depth + 1);
+            explore(node, depth + 1);
+        }
+    }
+
+    // taking a vertex of degree d lowers the cycle rank by at most d - 1, so at least as many vertices
+    // as the largest such drops needed to reach the rank have to be taken (the rank uses a single component, which is a lower bound)
+    private int lowerBound(Node node, int cycleRank) {
+        if (cycleRank <= 0) return 0;
+        int[] count = new int[2 * n + 1];
+        for (int v = 0; v < n; v++) {
+            if (node.degree[v] >= 2 && !node.permanent[v]) count[node.degree[v] - 1]++;
+        }
+        int bound = 0;
+        for (int drop = count.length - 1; drop > 0; drop--) {
+            for (int c = 0; c < count[drop]; c++) {
+                bound++;
+                cycleRank -= drop;
+                if (cycleRank <= 0) return bound;
+            }
+        }
+        return bound;
+    }
+
+    private synchronized void offer(Node node) {
+        if (node.takenCount >= bestSize) return;
+        best = Arrays.copyOf(node.taken, node.takenCount);
+        bestSize = best.length;
+        if (onImprovement != null) onImprovement.accept(best.clone());
+    }
+
+    // applies the reduction rules until none applies, false when the node has no solution
+    // - a vertex of degree <= 1 is on no cycle, it is dropped
+    // - adjacent permanent vertices are contracted, a double edge between them is a cycle that can't be broken
+    // - a deletable vertex with a double edge to a permanent vertex is taken
+    // - a deletable vertex of degree 2 is bypassed unless both of its neighbors are permanent
+    //   (a solution using it can use a deletable neighbor instead), with a double edge the neighbor is taken
+    //   or, when the neighbor is permanent, the vertex itself
+    // - a permanent vertex of degree 2 is bypassed
+    private boolean reduce(Node node) {
+        int[] degree = node.degree;
+        boolean[] permanent = node.permanent;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int v = 0; v < n; v++) {
+                if (degree[v] < 0) continue;
+                if (degree[v] <= 1) {
+                    node.removeVertex(v);
+                    changed = true;
+                    continue;
+                }
+                if (permanent[v]) {
+                    for (int u = 0; u < n && degree[v] >= 0; u++) {
+                        int m = adjacency(node, v, u);
+                        if (m == 0) continue;
+                        if (permanent[u]) {
+                            if (m == 2) return false;
+                            node.contract(v, u);
+                            changed = true;
+                        } else if (m == 2) {
+                            node.take(u);
+                            changed = true;
+                        }
+                    }
+                    if (changed) continue;
+                }
+                if (degree[v] != 2) continue;
+                int u = -1, w = -1;
+                for (int x = 0; x < n; x++) {
+                    int m = adjacency(node, v, x);
+                    if (m == 2) {
+                        u = w = x;
+                        break;
+                    }
+                    if (m == 1) {
+                        if (u == -1) u = x;
+                        else w = x;
+                    }
+                }
+                if (u == w) {
+                    if (permanent[u] && permanent[v]) return false;
+                    node.take(permanent[u] ? v : u);
+                    changed = true;
+                } else if (permanent[v] || !permanent[u] || !permanent[w]) {
+                    node.removeVertex(v);
+                    node.addEdges(u, w, 1);
+                    changed = true;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,97 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// checks whether a vertex set induces a forest without allocating anything:
+// every thread keeps its own stack, parent array and visited stamps sized to the graph
+final class ForestChecker {
+    private final Graph graph;
+    private final SolverMetrics metrics;
+    private final ThreadLocal<Scratch> scratch;
+
+    private static final class Scratch {
+        final int[] stack;
+        final int[] parent;
+        // stamps[v] == epoch marks v as visited in the current check, so nothing has to be cleared between checks
+        final int[] stamps;
+        int epoch = 0;
+
+        Scratch(int n) {
+            stack = new int[n];
+            parent = new int[n];
+            stamps = new int[n];
+        }
+
+        int nextEpoch() {
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                epoch = 0;
+            }
+            return ++epoch;
+        }
+    }
+
+    ForestChecker(Graph graph, SolverMetrics metrics) {
+        this.graph = graph;
+        this.metrics = metrics;
+        scratch = ThreadLocal.withInitial(() -> new Scratch(graph.size()));
+    }
+
+    // members is a bitset over the vertex ids (one bit per id, 64 per word) holding memberCount vertices
+    boolean isForest(long[] members, int memberCount) {
+        if (memberCount == 0) return true;
+        int[] offsets = graph.offsets, targets = graph.targets;
+
+        // a forest has m = n - components <= n - 1 edges, most cyclic sets are rejected by counting
+        long twiceEdges = 0;
+        for (int w = 0; w < members.length; w++) {
+            for (long word = members[w]; word != 0; word &= word - 1) {
+                int v = (w << 6) + Long.numberOfTrailingZeros(word);
+                for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                    int u = targets[e];
+                    if ((members[u >>> 6] & (1L << u)) != 0) twiceEdges++;
+                }
+            }
+        }
+        if (twiceEdges / 2 >= memberCount) return false;
+
+        Scratch s = scratch.get();
+        int[] stack = s.stack, parent = s.parent, stamps = s.stamps;
+        int epoch = s.nextEpoch();
+        // visited vertices are counted locally and reported once per check
+        int visited = 0;
+        for (int w = 0; w < members.length; w++) {
+            for (long word = members[w]; word != 0; word &= word - 1) {
+                int root = (w << 6) + Long.numberOfTrailingZeros(word);
+                if (stamps[root] == epoch) continue;
+                stamps[root] = epoch;
+                parent[root] = -1;
+                int top = 0;
+                stack[top++] = root;
+                while (top > 0) {
+                    int v = stack[--top];
+                    visited++;
+                    boolean parentEdgeSkipped = false;
+                    for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                        int u = targets[e];
+                        if ((members[u >>> 6] & (1L << u)) == 0) continue;
+                        // skip the tree edge to the parent once, a second copy of it would be a cycle of length 2
+                        if (u == parent[v] && !parentEdgeSkipped) {
+                            parentEdgeSkipped = true;
+                            continue;
+                        }
+                        if (stamps[u] == epoch) {
+                            metrics.dfsNodes.add(visited);
+                            return false;
+                        }
+                        stamps[u] = epoch;
+                        parent[u] = v;
+                        stack[top++] = u;
+                    }
+                }
+            }
+        }
+        metrics.dfsNodes.add(visited);
+        return true;
+    }
+}
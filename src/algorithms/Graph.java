@@ -0,0 +1,61 @@
+package algorithms;
+
+import java.awt.Point;
+import java.util.List;
+
+// compressed sparse row adjacency: the neighbors of v are targets[offsets[v]] .. targets[offsets[v+1]-1]
+// memory is O(n + m) and iterating over the neighbors of a vertex costs O(deg)
+final class Graph {
+    final int[] offsets;
+    final int[] targets;
+
+    Graph(int[] offsets, int[] targets) {
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    static Graph fromNeighborLists(int[][] neighborLists) {
+        int n = neighborLists.length;
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + neighborLists[v].length;
+        }
+        int[] targets = new int[offsets[n]];
+        for (int v = 0; v < n; v++) {
+            System.arraycopy(neighborLists[v], 0, targets, offsets[v], neighborLists[v].length);
+        }
+        return new Graph(offsets, targets);
+    }
+
+    // unit disk graph: p and q are adjacent when p.distance(q) < edgeThreshold
+    static Graph build(List<Point> points, int edgeThreshold) {
+        return fromNeighborLists(new SpatialGrid(points, edgeThreshold).neighborLists(edgeThreshold));
+    }
+
+    // subgraph of a connected component (closed under adjacency), localIds[v] is the index of v in vertices
+    Graph component(int[] vertices, int[] localIds) {
+        int[] componentOffsets = new int[vertices.length + 1];
+        for (int i = 0; i < vertices.length; i++) {
+            componentOffsets[i + 1] = componentOffsets[i] + degree(vertices[i]);
+        }
+        int[] componentTargets = new int[componentOffsets[vertices.length]];
+        for (int i = 0; i < vertices.length; i++) {
+            for (int e = offsets[vertices[i]], k = componentOffsets[i]; e < offsets[vertices[i] + 1]; e++, k++) {
+                componentTargets[k] = localIds[targets[e]];
+            }
+        }
+        return new Graph(componentOffsets, componentTargets);
+    }
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+    int edgeCount() {
+        return targets.length / 2;
+    }
+
+    int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+}
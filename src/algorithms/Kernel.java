@@ -0,0 +1,205 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// FVS kernel: applies the standard reduction rules until none of them applies anymore
+// - a vertex of degree <= 1 is on no cycle, it is dropped
+// - a vertex of degree 2 is bypassed: u - v - w becomes the edge u - w (some optimal solution never needs v)
+// - a vertex with a loop is in every solution, it is forced (bypassing v in u - v - u puts a loop on u)
+// - edges of multiplicity > 2 are kept as double edges, a double edge already is a cycle of length 2
+// the reduced graph keeps its double edges as two copies in the CSR targets
+// a solution of the kernel plus the forced vertices is a solution of the original graph
+final class Kernel {
+    // reduced graph, kernel vertex v is the vertex origin[v] of the original graph
+    final Graph graph;
+    final int[] origin;
+    // original vertices that are in every solution
+    final int[] forced;
+
+    // the remaining graph, in place in the CSR slots of the original graph: the distinct neighbors of v are
+    // entries[start[v]] .. entries[start[v] + count[v] - 1], sorted, each one packed as neighbor << 1 | (multiplicity - 1)
+    // a reduction never gives a vertex more distinct neighbors than it started with (a bypass trades v for w),
+    // so a slot never overflows, count[v] == -1 once v is out of the graph
+    private final int[] start;
+    private final int[] entries;
+    private final int[] count;
+    private final int[] degree; // with the multiplicities
+    private final int[] queue;
+    private final boolean[] queued;
+    private int queueSize = 0;
+
+    Kernel(Graph original) {
+        int n = original.size();
+        start = original.offsets;
+        entries = new int[original.targets.length];
+        count = new int[n];
+        degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            int from = start[v], to = start[v + 1];
+            for (int e = from; e < to; e++) entries[e] = original.targets[e] << 1;
+            Arrays.sort(entries, from, to);
+            // merge the copies of a neighbor into one entry
+            for (int e = from; e < to; e++) {
+                int last = from + count[v] - 1;
+                if (count[v] > 0 && entries[last] >>> 1 == entries[e] >>> 1) {
+                    entries[last] |= 1;
+                } else {
+                    entries[from + count[v]++] = entries[e];
+                }
+            }
+            for (int i = 0; i < count[v]; i++) degree[v] += multiplicity(entries[from + i]);
+        }
+        queue = new int[n];
+        queued = new boolean[n];
+        for (int v = n - 1; v >= 0; v--) enqueue(v);
+
+        int[] forcedBuffer = new int[n];
+        int forcedCount = 0;
+        while (queueSize > 0) {
+            int v = queue[--queueSize];
+            queued[v] = false;
+            if (count[v] == -1) continue;
+
+            if (find(v, v) >= 0) {
+                forcedBuffer[forcedCount++] = v;
+                removeVertex(v);
+                continue;
+            }
+            if (degree[v] <= 1) {
+                removeVertex(v);
+            } else if (degree[v] == 2) {
+                int u = entries[start[v]] >>> 1, w = count[v] == 1 ? u : entries[start[v] + 1] >>> 1;
+                removeVertex(v);
+                addEdge(u, w);
+                if (u != w) addEdge(w, u);
+            }
+        }
+        forced = Arrays.copyOf(forcedBuffer, forcedCount);
+
+        // relabel the remaining vertices and write the reduced graph as CSR
+        // kernel ids grow with the original ids, so the sorted slots give sorted targets
+        int[] kernelId = new int[n];
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+            kernelId[v] = count[v] == -1 ? -1 : k++;
+        }
+        origin = new int[k];
+        int[] offsets = new int[k + 1];
+        for (int v = 0; v < n; v++) {
+            if (kernelId[v] == -1) continue;
+            origin[kernelId[v]] = v;
+            offsets[kernelId[v] + 1] = degree[v];
+        }
+        for (int i = 0; i < k; i++) offsets[i + 1] += offsets[i];
+        int[] targets = new int[offsets[k]];
+        for (int i = 0; i < k; i++) {
+            int v = origin[i], e = offsets[i];
+            for (int j = start[v]; j < start[v] + count[v]; j++) {
+                for (int c = 0; c < multiplicity(entries[j]); c++) targets[e++] = kernelId[entries[j] >>> 1];
+            }
+        }
+        graph = new Graph(offsets, targets);
+    }
+
+    private static int multiplicity(int entry) {
+        return (entry & 1) + 1;
+    }
+
+    // index in entries of the entry of u among the neighbors of v, or -(insertion index) - 1
+    private int find(int v, int u) {
+        int low = start[v], high = start[v] + count[v] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int neighbor = entries[middle] >>> 1;
+            if (neighbor < u) {
+                low = middle + 1;
+            } else if (neighbor > u) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    // one more v - u edge, multiplicities are capped at 2
+    private void addEdge(int v, int u) {
+        int index = find(v, u);
+        if (index >= 0) {
+            if (multiplicity(entries[index]) == 1) {
+                entries[index] |= 1;
+                degree[v]++;
+            }
+            return;
+        }
+        index = -index - 1;
+        int end = start[v] + count[v];
+        System.arraycopy(entries, index, entries, index + 1, end - index);
+        entries[index] = u << 1;
+        count[v]++;
+        degree[v]++;
+    }
+
+    private void enqueue(int v) {
+        if (!queued[v]) {
+            queued[v] = true;
+            queue[queueSize++] = v;
+        }
+    }
+
+    // takes v out of the graph and queues its neighbors, whose degree just dropped
+    private void removeVertex(int v) {
+        for (int j = start[v]; j < start[v] + count[v]; j++) {
+            int u = entries[j] >>> 1;
+            if (u == v) continue;
+            int index = find(u, v);
+            degree[u] -= multiplicity(entries[index]);
+            int end = start[u] + count[u];
+            System.arraycopy(entries, index + 1, entries, index, end - index - 1);
+            count[u]--;
+            enqueue(u);
+        }
+        count[v] = -1;
+    }
+
+    // original ids of the solution made of the forced vertices and the given kernel vertices
+    int[] lift(int[] kernelSolution) {
+        int[] result = Arrays.copyOf(forced, forced.length + kernelSolution.length);
+        for (int i = 0; i < kernelSolution.length; i++) {
+            result[forced.length + i] = origin[kernelSolution[i]];
+        }
+        return result;
+    }
+
+    // connected components of the reduced graph as sorted lists of kernel vertices
+    List<int[]> components() {
+        int k = graph.size();
+        boolean[] seen = new boolean[k];
+        int[] stack = new int[k];
+        int[] members = new int[k];
+        List<int[]> result = new ArrayList<>();
+        for (int root = 0; root < k; root++) {
+            if (seen[root]) continue;
+            seen[root] = true;
+            int top = 0, size = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int v = stack[--top];
+                members[size++] = v;
+                for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                    int u = graph.targets[e];
+                    if (!seen[u]) {
+                        seen[u] = true;
+                        stack[top++] = u;
+                    }
+                }
+            }
+            int[] component = Arrays.copyOf(members, size);
+            Arrays.sort(component);
+            result.add(component);
+        }
+        return result;
+    }
+}
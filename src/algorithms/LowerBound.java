@@ -0,0 +1,115 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// lower bounds on the size of a minimum FVS of a connected graph, computed once per component
+// - degree bound: removing a vertex of degree d lowers the cycle rank m - n + 1 by at most d - 1,
+//   so a solution has at least as many vertices as the largest such drops needed to cover the rank
+// - cycle packing: every cycle needs its own vertex when the cycles are vertex disjoint,
+//   short cycles are packed greedily with a BFS that stops at the first edge closing a cycle
+final class LowerBound {
+    private final Graph graph;
+
+    LowerBound(Graph graph) {
+        this.graph = graph;
+    }
+
+    int compute() {
+        return Math.max(degreeBound(), cyclePacking());
+    }
+
+    int degreeBound() {
+        int n = graph.size();
+        long cycleRank = (long) graph.edgeCount() - n + 1;
+        if (cycleRank <= 0) return 0;
+        int[] degrees = new int[n];
+        for (int v = 0; v < n; v++) degrees[v] = graph.degree(v);
+        Arrays.sort(degrees);
+        int bound = 0;
+        for (int i = n - 1; i >= 0 && cycleRank > 0; i--) {
+            cycleRank -= degrees[i] - 1;
+            bound++;
+        }
+        return bound;
+    }
+
+    int cyclePacking() {
+        int n = graph.size();
+        int[] offsets = graph.offsets, targets = graph.targets;
+        int[] degrees = new int[n];
+        for (int v = 0; v < n; v++) degrees[v] = graph.degree(v);
+        boolean[] removed = new boolean[n];
+        int[] leaves = new int[n];
+        int[] queue = new int[n];
+        int[] parent = new int[n];
+        int[] stamps = new int[n];
+        int[] cycle = new int[n];
+        int epoch = 0;
+
+        // vertices of degree <= 1 are on no cycle, removing the packed cycles keeps creating new ones
+        int leafCount = 0;
+        for (int v = 0; v < n; v++) {
+            if (degrees[v] <= 1) {
+                removed[v] = true;
+                leaves[leafCount++] = v;
+            }
+        }
+        int packed = 0;
+        for (int start = 0; start < n; start++) {
+            while (true) {
+                while (leafCount > 0) {
+                    int v = leaves[--leafCount];
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        int u = targets[e];
+                        if (!removed[u] && --degrees[u] <= 1) {
+                            removed[u] = true;
+                            leaves[leafCount++] = u;
+                        }
+                    }
+                }
+                if (removed[start]) break;
+
+                // BFS from start until an edge closes a cycle, the cycle goes up from both ends to their common ancestor
+                epoch += 2;
+                int head = 0, tail = 0, closingV = -1, closingU = -1;
+                stamps[start] = epoch;
+                parent[start] = -1;
+                queue[tail++] = start;
+                while (head < tail && closingV == -1) {
+                    int v = queue[head++];
+                    boolean parentEdgeSkipped = false;
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        int u = targets[e];
+                        if (removed[u]) continue;
+                        if (u == parent[v] && !parentEdgeSkipped) {
+                            parentEdgeSkipped = true;
+                            continue;
+                        }
+                        if (stamps[u] == epoch) {
+                            closingV = v;
+                            closingU = u;
+                            break;
+                        }
+                        stamps[u] = epoch;
+                        parent[u] = v;
+                        queue[tail++] = u;
+                    }
+                }
+                int length = 0;
+                for (int x = closingV; x != -1; x = parent[x]) stamps[x] = epoch + 1;
+                int ancestor = closingU;
+                while (stamps[ancestor] != epoch + 1) ancestor = parent[ancestor];
+                for (int x = closingV; x != ancestor; x = parent[x]) cycle[length++] = x;
+                cycle[length++] = ancestor;
+                for (int x = closingU; x != ancestor; x = parent[x]) cycle[length++] = x;
+
+                packed++;
+                for (int i = 0; i < length; i++) {
+                    removed[cycle[i]] = true;
+                    leaves[leafCount++] = cycle[i];
+                }
+            }
+        }
+        return packed;
+    }
+}
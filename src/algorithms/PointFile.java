@@ -0,0 +1,196 @@
+package algorithms;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// point files: the text format of input.points ("x y" per line) and a binary format read through a memory mapping
+//
+// binary layout, little endian:
+//   header      int magic 'FVSP', int version, int point count n, int edgeThreshold of the adjacency (0 without),
+//               long offset of the adjacency section (0 without), long offset of the solution section (0 without)
+//   points      n times int x, int y
+//   adjacency   int m, n + 1 int offsets, m int targets (the CSR arrays of Graph)
+//   solution    int k, k int point indices
+//
+// java algorithms.PointFile -toBinary input.points input.fvsp [-edgeThreshold 100] converts and stores the adjacency
+// java algorithms.PointFile -toText input.fvsp input.points converts back
+public final class PointFile {
+    static final int MAGIC = 0x46565350;
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+
+    private PointFile(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a binary point file.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported point file version " + buffer.getInt(4) + ".");
+        }
+        size = buffer.getInt(8);
+    }
+
+    // maps the file, the coordinates are read straight from the mapping without building any object
+    public static PointFile open(String file) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            return new PointFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int x(int i) {
+        return buffer.getInt(HEADER_BYTES + 8 * i);
+    }
+
+    public int y(int i) {
+        return buffer.getInt(HEADER_BYTES + 8 * i + 4);
+    }
+
+    public ArrayList<Point> points() {
+        ArrayList<Point> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new Point(x(i), y(i)));
+        }
+        return points;
+    }
+
+    // 0 when the file has no adjacency
+    public int edgeThreshold() {
+        return buffer.getInt(12);
+    }
+
+    // the stored unit disk graph, null when the file has none
+    Graph graph() {
+        long offset = buffer.getLong(16);
+        if (offset == 0) return null;
+        int m = buffer.getInt((int) offset);
+        int[] offsets = new int[size + 1];
+        int[] targets = new int[m];
+        buffer.slice((int) offset + 4, 4 * (size + 1)).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(offsets);
+        buffer.slice((int) offset + 4 + 4 * (size + 1), 4 * m).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(targets);
+        return new Graph(offsets, targets);
+    }
+
+    // indices of the stored solution, null when the file has none
+    public int[] solution() {
+        long offset = buffer.getLong(24);
+        if (offset == 0) return null;
+        int[] solution = new int[buffer.getInt((int) offset)];
+        buffer.slice((int) offset + 4, 4 * solution.length).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(solution);
+        return solution;
+    }
+
+    public static void writeBinary(String file, List<Point> points, int[] solution) throws IOException {
+        writeBinary(file, points, null, 0, solution);
+    }
+
+    // graph (may be null) is the unit disk graph of the points for edgeThreshold, solution may be null
+    static void writeBinary(String file, List<Point> points, Graph graph, int edgeThreshold, int[] solution) throws IOException {
+        int n = points.size();
+        long end = HEADER_BYTES + 8L * n + (graph == null ? 0 : 4L * (1 + graph.offsets.length + graph.targets.length));
+        long adjacencyOffset = graph == null ? 0 : HEADER_BYTES + 8L * n;
+        long solutionOffset = solution == null ? 0 : end;
+        long length = end + (solution == null ? 0 : 4L * (1 + solution.length));
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Point files are limited to 2 GB.");
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(graph == null ? 0 : edgeThreshold);
+            out.putLong(adjacencyOffset).putLong(solutionOffset);
+            for (Point p : points) {
+                out.putInt(p.x).putInt(p.y);
+            }
+            if (graph != null) {
+                out.putInt(graph.targets.length);
+                out.asIntBuffer().put(graph.offsets).put(graph.targets);
+                out.position(out.position() + 4 * (graph.offsets.length + graph.targets.length));
+            }
+            if (solution != null) {
+                out.putInt(solution.length);
+                out.asIntBuffer().put(solution);
+            }
+            out.force();
+        }
+    }
+
+    // text format parser working on the mapped bytes: no line Strings, no split, no boxing of the coordinates
+    // accepts any run of spaces, tabs and line breaks between the numbers, like the other readers of these files
+    public static ArrayList<Point> readText(String file) throws IOException {
+        MappedByteBuffer in;
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ArrayList<Point> points = new ArrayList<>();
+        int length = in.limit();
+        int i = 0;
+        int[] pair = new int[2];
+        int filled = 0;
+        while (true) {
+            while (i < length && isSeparator(in.get(i))) i++;
+            if (i == length) break;
+            boolean negative = in.get(i) == '-';
+            if (negative) i++;
+            int start = i;
+            long value = 0;
+            while (i < length && in.get(i) >= '0' && in.get(i) <= '9') {
+                value = value * 10 + (in.get(i++) - '0');
+                if (value > (negative ? Integer.MAX_VALUE + 1L : Integer.MAX_VALUE)) {
+                    throw new IllegalArgumentException("Coordinate out of range at byte " + start + " of " + file + ".");
+                }
+            }
+            if (i == start || (i < length && !isSeparator(in.get(i)))) {
+                throw new IllegalArgumentException("Malformed coordinate at byte " + start + " of " + file + ".");
+            }
+            pair[filled++] = (int) (negative ? -value : value);
+            if (filled == 2) {
+                points.add(new Point(pair[0], pair[1]));
+                filled = 0;
+            }
+        }
+        if (filled != 0) {
+            throw new IllegalArgumentException("Odd number of coordinates in " + file + ".");
+        }
+        return points;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: -toBinary in.points out.fvsp [-edgeThreshold t] | -toText in.fvsp out.points");
+        }
+        switch (args[0]) {
+            case "-toBinary" -> {
+                ArrayList<Point> points = readText(args[1]);
+                if (args.length >= 5 && args[3].equals("-edgeThreshold")) {
+                    int edgeThreshold = Integer.parseInt(args[4]);
+                    writeBinary(args[2], points, Graph.build(points, edgeThreshold), edgeThreshold, null);
+                } else {
+                    writeBinary(args[2], points, null);
+                }
+            }
+            case "-toText" -> RandomPointsGenerator.write(open(args[1]).points().toArray(new Point[0]), args[2]);
+            default -> throw new IllegalArgumentException("Unknown option " + args[0]);
+        }
+    }
+}
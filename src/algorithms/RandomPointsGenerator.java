@@ -1,10 +1,14 @@
 package algorithms;
 
 import java.awt.Point;
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Random;
 
@@ -22,7 +26,28 @@ public class RandomPointsGenerator {
        return Math.min(Math.min(Math.min(Math.sqrt(Math.pow((double)(x - maxWidth / 2), 2.0) + Math.pow((double)(y - maxHeight / 2), 2.0)), Math.sqrt(Math.pow((double)x - 2.5 * (double)maxWidth / 6.0, 2.0) + Math.pow((double)(y - 2 * maxHeight / 6), 2.0))), Math.min(Math.sqrt(Math.pow((double)(x - 4 * maxWidth / 6), 2.0) + Math.pow((double)(y - 2 * maxHeight / 6), 2.0)), Math.sqrt(Math.pow((double)(x - 2 * maxWidth / 6), 2.0) + Math.pow((double)(y - 4 * maxHeight / 6), 2.0)))), Math.sqrt(Math.pow((double)(x - 4 * maxWidth / 6), 2.0) + Math.pow((double)(y - 4 * maxHeight / 6), 2.0)));
     }
  
+    // without arguments: 100 files tests/input<i>.points of 150 points
+    // with -nbPoints N [-seed S] [-output file]: one instance of generateDegreeLimited, for large instances
     public static void main(String[] args) {
+       if (args.length > 0) {
+          int nbPoints = numberOfPoints;
+          Random generator = new Random();
+          String output = filename;
+          for(int i = 0; i + 1 < args.length; i += 2) {
+             switch (args[i]) {
+                case "-nbPoints" -> nbPoints = Integer.parseInt(args[i + 1]);
+                case "-seed" -> generator = new Random(Long.parseLong(args[i + 1]));
+                case "-output" -> output = args[i + 1];
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+             }
+          }
+          try {
+             write(generateDegreeLimited(nbPoints, generator), output);
+          } catch (IOException e) {
+             System.err.println("I/O exception: unable to write " + output);
+          }
+          return;
+       }
        try {
           for(int index = 0; index < 100; ++index) {
              PrintStream output = new PrintStream(new FileOutputStream("tests/input" + index + ".points"));
@@ -67,24 +92,97 @@ public class RandomPointsGenerator {
     public static void generate(int nbPoints) {
        try {
           PrintStream output = new PrintStream(new FileOutputStream(filename));
-          Random generator = new Random();
  
-          for(int i = 0; i < nbPoints; ++i) {
+          for(Point p : generate(nbPoints, new Random())) {
+             output.println(Integer.toString(p.x) + " " + Integer.toString(p.y));
+          }
+ 
+          output.close();
+       } catch (FileNotFoundException var6) {
+          System.err.println("I/O exception: unable to create " + filename);
+       }
+ 
+    }
+ 
+    // same instances as generate(int) but in memory, a seeded generator gives the same instance every time
+    public static ArrayList<Point> generate(int nbPoints, Random generator) {
+       ArrayList<Point> points = new ArrayList<>(nbPoints);
+ 
+       for(int i = 0; i < nbPoints; ++i) {
+          int x;
+          int y;
+          do {
+             x = generator.nextInt(maxWidth);
+             y = generator.nextInt(maxHeight);
+          } while(!(distanceToCenter(x, y) < (double)radius * 1.4) && (!(distanceToCenter(x, y) < (double)radius * 1.6) || generator.nextInt(5) != 1) && (!(distanceToCenter(x, y) < (double)radius * 1.8) || generator.nextInt(10) != 1) && (maxHeight / 5 >= x || x >= 4 * maxHeight / 5 || maxHeight / 5 >= y || y >= 4 * maxHeight / 5 || generator.nextInt(100) != 1));
+ 
+          points.add(new Point(x, y));
+       }
+ 
+       return points;
+    }
+ 
+    // the distribution of main (clusters plus the degree limit: fewer than 5 earlier points at distance <= 48)
+    // on a plane scaled by sqrt(nbPoints / 150), so that large instances keep the density of the 150 point ones
+    // the earlier points are kept in a grid of 48 x 48 cells and a candidate is only compared with its 3x3 block,
+    // so an instance costs O(n) instead of O(n^2), up to 150 points it is exactly the distribution of main
+    public static Point[] generateDegreeLimited(int nbPoints, Random generator) {
+       int edgeThreshold = 48;
+       double scale = Math.max(1.0, Math.sqrt((double)nbPoints / (double)numberOfPoints));
+       int width = (int)Math.ceil((double)maxWidth * scale) / edgeThreshold + 1;
+       int height = (int)Math.ceil((double)maxHeight * scale) / edgeThreshold + 1;
+       // points of a cell as a linked list: cellHead[cell], then nextInCell[point]
+       int[] cellHead = new int[width * height];
+       Arrays.fill(cellHead, -1);
+       int[] nextInCell = new int[nbPoints];
+       Point[] points = new Point[nbPoints];
+ 
+       for(int i = 0; i < nbPoints; ++i) {
+          Point p;
+          int deg;
+          do {
              int x;
              int y;
              do {
                 x = generator.nextInt(maxWidth);
                 y = generator.nextInt(maxHeight);
-             } while(!(distanceToCenter(x, y) < (double)radius * 1.4) && (!(distanceToCenter(x, y) < (double)radius * 1.6) || generator.nextInt(5) != 1) && (!(distanceToCenter(x, y) < (double)radius * 1.8) || generator.nextInt(10) != 1) && (maxHeight / 5 >= x || x >= 4 * maxHeight / 5 || maxHeight / 5 >= y || y >= 4 * maxHeight / 5 || generator.nextInt(100) != 1));
+             } while(!(distanceToCenter(x, y) < (double)radius * 1.4) && (!(distanceToCenter(x, y) < (double)radius * 1.6) || generator.nextInt(5) != 1) && (!(distanceToCenter(x, y) < (double)radius * 1.8) || generator.nextInt(10) != 1) && (maxHeight / 9 >= x || x >= 4 * maxHeight / 5 || maxHeight / 9 >= y || y >= 7 * maxHeight / 9 || generator.nextInt(100) != 1));
  
-             output.println(Integer.toString(x) + " " + Integer.toString(y));
-          }
+             // jitter inside the scaled cell so that the large instances don't sit on a lattice
+             p = scale == 1.0 ? new Point(x, y) : new Point((int)(((double)x + generator.nextDouble()) * scale), (int)(((double)y + generator.nextDouble()) * scale));
+             deg = 0;
+             int cx = p.x / edgeThreshold;
+             int cy = p.y / edgeThreshold;
+             for(int gy = Math.max(0, cy - 1); gy <= Math.min(height - 1, cy + 1); ++gy) {
+                for(int gx = Math.max(0, cx - 1); gx <= Math.min(width - 1, cx + 1); ++gx) {
+                   for(int q = cellHead[gy * width + gx]; q != -1; q = nextInCell[q]) {
+                      if (p.distance(points[q]) <= (double)edgeThreshold) {
+                         ++deg;
+                      }
+                   }
+                }
+             }
+          } while(deg >= 5);
  
-          output.close();
-       } catch (FileNotFoundException var6) {
-          System.err.println("I/O exception: unable to create " + filename);
+          int cell = p.y / edgeThreshold * width + p.x / edgeThreshold;
+          points[i] = p;
+          nextInCell[i] = cellHead[cell];
+          cellHead[cell] = i;
        }
  
+       return points;
+    }
+ 
+    // same text format as the other files, written through a buffer instead of a println per point
+    public static void write(Point[] points, String file) throws IOException {
+       try (BufferedWriter output = new BufferedWriter(new FileWriter(file), 1 << 16)) {
+          for(Point p : points) {
+             output.write(Integer.toString(p.x));
+             output.write(' ');
+             output.write(Integer.toString(p.y));
+             output.newLine();
+          }
+       }
     }
- }
+}
  
\ No newline at end of file
@@ -0,0 +1,91 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// "reverse" greedy FVS construction: every vertex starts in the solution and is put back into the forest
+// in a randomized low degree first order, unless two of its forest neighbors are already in the same tree
+// the trees are kept in a union-find, so each candidate costs O(deg * alpha(n)) instead of a graph traversal
+final class ReverseGreedy {
+    private final Graph graph;
+
+    ReverseGreedy(Graph graph) {
+        this.graph = graph;
+    }
+
+    // ids of the solution taken among vertices (the rest of vertices induces a forest)
+    int[] run(int[] vertices, Random random) {
+        int n = graph.size(), k = vertices.length;
+        int[] offsets = graph.offsets, targets = graph.targets;
+        boolean[] inSet = new boolean[n];
+        for (int v : vertices) inSet[v] = true;
+        int[] degrees = new int[n];
+        int maxDegree = 0;
+        for (int v : vertices) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (inSet[targets[e]]) degrees[v]++;
+            }
+            maxDegree = Math.max(maxDegree, degrees[v]);
+        }
+
+        // shuffle, then a stable counting sort by degree so that ties are in random order
+        int[] shuffled = vertices.clone();
+        for (int i = k - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = tmp;
+        }
+        int[] start = new int[maxDegree + 2];
+        for (int v : shuffled) start[degrees[v] + 1]++;
+        for (int d = 0; d <= maxDegree; d++) start[d + 1] += start[d];
+        int[] order = new int[k];
+        for (int v : shuffled) order[start[degrees[v]]++] = v;
+
+        DisjointSet trees = new DisjointSet(n);
+        boolean[] inForest = new boolean[n];
+        int[] seenRoot = new int[n];
+        int[] result = new int[k];
+        int resultSize = 0;
+        for (int v : order) {
+            if (!insert(v, trees, inForest, seenRoot)) result[resultSize++] = v;
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    // completes a partial solution: the vertices of forest are put back into the forest in the given order
+    // unless they close a cycle, the result is every other vertex of the graph plus the ones that closed a cycle
+    int[] repair(int[] forest) {
+        int n = graph.size();
+        DisjointSet trees = new DisjointSet(n);
+        boolean[] inForest = new boolean[n];
+        int[] seenRoot = new int[n];
+        for (int v : forest) {
+            insert(v, trees, inForest, seenRoot);
+        }
+        int[] result = new int[n];
+        int resultSize = 0;
+        for (int v = 0; v < n; v++) {
+            if (!inForest[v]) result[resultSize++] = v;
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    // puts v into the forest unless two of its forest neighbors are in the same tree, returns whether it went in
+    // seenRoot[root] == v+1 when v already has a forest neighbor in that tree
+    private boolean insert(int v, DisjointSet trees, boolean[] inForest, int[] seenRoot) {
+        int[] offsets = graph.offsets, targets = graph.targets;
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            int u = targets[e];
+            if (!inForest[u]) continue;
+            int root = trees.find(u);
+            if (seenRoot[root] == v + 1) return false;
+            seenRoot[root] = v + 1;
+        }
+        inForest[v] = true;
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            if (inForest[targets[e]]) trees.union(v, targets[e]);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,139 @@
+package algorithms;
+
+import java.awt.Point;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// bounded LRU cache of the best known solution per instance
+// an instance is keyed by a hash of its sorted coordinates and the threshold, so the order of the points doesn't matter,
+// and a solution is stored as coordinates so that it can be mapped back onto any ordering of the same points
+// a hit is checked with the fast validator before it is used, a hash collision is then just a miss
+// the cache is thread safe, it can be shared by several solvers and saved to / loaded from a file
+public final class SolutionCache {
+    private static final int FILE_MAGIC = 0x46565343;
+
+    public record Key(long hash, int points, int edgeThreshold) {
+    }
+
+    private final int capacity;
+    private final LinkedHashMap<Key, long[]> entries;
+
+    public SolutionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive.");
+        }
+        this.capacity = capacity;
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, long[]> eldest) {
+                return size() > SolutionCache.this.capacity;
+            }
+        };
+    }
+
+    private static long pack(Point p) {
+        return ((long) p.x << 32) | (p.y & 0xffffffffL);
+    }
+
+    private static Point unpack(long packed) {
+        return new Point((int) (packed >> 32), (int) packed);
+    }
+
+    public static Key key(List<Point> points, int edgeThreshold) {
+        long[] coordinates = new long[points.size()];
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = pack(points.get(i));
+        }
+        Arrays.sort(coordinates);
+        long hash = 0x9E3779B97F4A7C15L;
+        for (long c : coordinates) {
+            hash = (hash ^ c) * 0xBF58476D1CE4E5B9L;
+            hash ^= hash >>> 31;
+        }
+        return new Key(hash, points.size(), edgeThreshold);
+    }
+
+    // the cached solution of the instance made of the given points, null on a miss
+    public synchronized ArrayList<Point> get(List<Point> points, int edgeThreshold) {
+        long[] solution = entries.get(key(points, edgeThreshold));
+        if (solution == null) return null;
+        HashMap<Point, Point> byCoordinates = new HashMap<>();
+        for (Point p : points) {
+            byCoordinates.putIfAbsent(p, p);
+        }
+        ArrayList<Point> result = new ArrayList<>(solution.length);
+        for (long packed : solution) {
+            Point p = byCoordinates.get(unpack(packed));
+            if (p == null) return null;
+            result.add(p);
+        }
+        ArrayList<Point> instance = new ArrayList<>(points);
+        return new Evaluation().isValidFast(instance, result, edgeThreshold) ? result : null;
+    }
+
+    // keeps solution unless the cache already knows a smaller one for the same instance
+    public synchronized void put(List<Point> points, int edgeThreshold, List<Point> solution) {
+        Key key = key(points, edgeThreshold);
+        long[] known = entries.get(key);
+        if (known != null && known.length <= solution.size()) return;
+        long[] packed = new long[solution.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = pack(solution.get(i));
+        }
+        entries.put(key, packed);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // least recently used first, so that loading the file gives back the same order
+    public synchronized void save(String file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(entries.size());
+            for (Map.Entry<Key, long[]> entry : entries.entrySet()) {
+                out.writeLong(entry.getKey().hash());
+                out.writeInt(entry.getKey().points());
+                out.writeInt(entry.getKey().edgeThreshold());
+                out.writeInt(entry.getValue().length);
+                for (long packed : entry.getValue()) {
+                    out.writeLong(packed);
+                }
+            }
+        }
+    }
+
+    // an empty cache when the file doesn't exist yet
+    public static SolutionCache load(String file, int capacity) throws IOException {
+        SolutionCache cache = new SolutionCache(capacity);
+        if (!new File(file).exists()) return cache;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException(file + " is not a solution cache file.");
+            }
+            int count = in.readInt();
+            for (int e = 0; e < count; e++) {
+                Key key = new Key(in.readLong(), in.readInt(), in.readInt());
+                long[] solution = new long[in.readInt()];
+                for (int i = 0; i < solution.length; i++) {
+                    solution[i] = in.readLong();
+                }
+                cache.entries.put(key, solution);
+            }
+        }
+        return cache;
+    }
+}
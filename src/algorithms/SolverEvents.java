@@ -0,0 +1,56 @@
+package algorithms;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JFR events of the solver, they cost next to nothing unless a recording enables them:
+// java -XX:StartFlightRecording:filename=fvs.jfr ... then jfr print --events algorithms.Generation fvs.jfr
+final class SolverEvents {
+    private SolverEvents() {
+    }
+
+    @Name("algorithms.Generation")
+    @Label("FVS Generation")
+    @Category("FVS")
+    @StackTrace(false)
+    static final class Generation extends Event {
+        @Label("Component")
+        int component;
+        @Label("Iteration")
+        int iteration;
+        @Label("Best Size")
+        int bestSize;
+        @Label("Diversity")
+        double diversity;
+    }
+
+    @Name("algorithms.Solve")
+    @Label("FVS Solve")
+    @Category("FVS")
+    @StackTrace(false)
+    static final class Solve extends Event {
+        @Label("Points")
+        int points;
+        @Label("Kernel Size")
+        int kernelSize;
+        @Label("Components")
+        int components;
+        @Label("Solution Size")
+        int solutionSize;
+        @Label("Lower Bound")
+        int lowerBound;
+        @Label("Cycle Checks")
+        long cycleChecks;
+        @Label("DFS Nodes")
+        long dfsNodes;
+        @Label("Swaps Tried")
+        long swapsTried;
+        @Label("Swaps Accepted")
+        long swapsAccepted;
+        @Label("Greedy Picks")
+        long greedyPicks;
+    }
+}
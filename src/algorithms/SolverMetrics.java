@@ -0,0 +1,129 @@
+package algorithms;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// counters and timers of one calculFVS call, shared by all its component searches
+// the hot counters are LongAdders that the search threads bump once per call (not once per vertex),
+// so the metrics are always on
+public final class SolverMetrics {
+    // one GA generation of one component
+    public record Generation(int component, int iteration, long nanos, int bestSize, double diversity) {
+    }
+
+    // a new best solution of the whole instance, elapsedNanos after the start of the solve
+    public record Improvement(long elapsedNanos, int size) {
+    }
+
+    private final long start = System.nanoTime();
+    final LongAdder cycleChecks = new LongAdder();
+    final LongAdder dfsNodes = new LongAdder();
+    final LongAdder swapsTried = new LongAdder();
+    final LongAdder swapsAccepted = new LongAdder();
+    final LongAdder greedyPicks = new LongAdder();
+    final LongAdder exactNodes = new LongAdder();
+    final LongAdder provedOptimal = new LongAdder();
+    private final List<Generation> generations = Collections.synchronizedList(new ArrayList<>());
+    private final List<Improvement> trajectory = Collections.synchronizedList(new ArrayList<>());
+    private volatile int lowerBound = 0;
+
+    void generation(int component, int iteration, long nanos, int bestSize, double diversity) {
+        generations.add(new Generation(component, iteration, nanos, bestSize, diversity));
+    }
+
+    void lowerBound(int lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    void improvement(int size) {
+        trajectory.add(new Improvement(System.nanoTime() - start, size));
+    }
+
+    // cycle searches in forest + p + q (- r) made by remove2add1, they replace its former isSolution calls
+    public long cycleChecks() {
+        return cycleChecks.sum();
+    }
+
+    // vertices visited by the forest walks of remove2add1: the tree labeling of every round and the cycle
+    // searches of the pairs that reach them (and the DFS of isSolution, only used by the benchmarks)
+    public long dfsNodes() {
+        return dfsNodes.sum();
+    }
+
+    // (p, q) pairs evaluated by remove2add1
+    public long swapsTried() {
+        return swapsTried.sum();
+    }
+
+    public long swapsAccepted() {
+        return swapsAccepted.sum();
+    }
+
+    // vertices put into a starting solution by the greedy constructions
+    public long greedyPicks() {
+        return greedyPicks.sum();
+    }
+
+    // branch and reduce nodes of the exact search
+    public long exactNodes() {
+        return exactNodes.sum();
+    }
+
+    // components whose solution the exact search proved optimal
+    public long provedOptimal() {
+        return provedOptimal.sum();
+    }
+
+    // no solution of the instance is smaller than this
+    public int lowerBound() {
+        return lowerBound;
+    }
+
+    // size of the best complete solution so far, -1 before the first one
+    public int bestSize() {
+        synchronized (trajectory) {
+            return trajectory.isEmpty() ? -1 : trajectory.get(trajectory.size() - 1).size();
+        }
+    }
+
+    // how far the best solution can be from the optimum, 0 means it is proved optimal
+    public int gap() {
+        return bestSize() - lowerBound;
+    }
+
+    public List<Generation> generations() {
+        synchronized (generations) {
+            return List.copyOf(generations);
+        }
+    }
+
+    public Duration generationTime() {
+        synchronized (generations) {
+            return Duration.ofNanos(generations.stream().mapToLong(Generation::nanos).sum());
+        }
+    }
+
+    public List<Improvement> trajectory() {
+        synchronized (trajectory) {
+            return List.copyOf(trajectory);
+        }
+    }
+
+    @Override
+    public String toString() {
+        List<Generation> generationList = generations();
+        return "cycle checks: " + cycleChecks()
+                + ", DFS nodes: " + dfsNodes()
+                + ", swaps tried/accepted: " + swapsTried() + "/" + swapsAccepted()
+                + ", greedy picks: " + greedyPicks()
+                + ", exact nodes: " + exactNodes() + " (" + provedOptimal() + " components proved optimal)"
+                + ", generations: " + generationList.size()
+                + " (" + generationTime().toMillis() + " ms)"
+                + ", best: " + bestSize()
+                + ", lower bound: " + lowerBound()
+                + ", gap: " + gap();
+    }
+}
@@ -0,0 +1,120 @@
+package algorithms;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+
+// uniform grid over the points with cells of edgeThreshold x edgeThreshold
+// two points closer than edgeThreshold always sit in the same or in adjacent cells,
+// so each point only has to be compared with the points of its 3x3 cell block
+final class SpatialGrid {
+    private final int[] xs;
+    private final int[] ys;
+    private final int cellSize;
+    private final long minCellX, minCellY;
+    private final int width, height;
+    // points sorted by cell, cellStart[c]..cellStart[c+1] are the points of cell c
+    private final int[] cellStart;
+    private final int[] cellPoints;
+
+    SpatialGrid(List<Point> points, int cellSize) {
+        int n = points.size();
+        xs = new int[n];
+        ys = new int[n];
+        for (int i = 0; i < n; i++) {
+            Point p = points.get(i);
+            xs[i] = p.x;
+            ys[i] = p.y;
+        }
+
+        long minX = Long.MAX_VALUE, minY = Long.MAX_VALUE, maxX = Long.MIN_VALUE, maxY = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+        if (n == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+
+        // very spread out instances would need more cells than points, in that case we grow the cells
+        // (bigger cells only add candidates, they never lose a neighbor)
+        long size = Math.max(1, cellSize);
+        while ((Math.floorDiv(maxX, size) - Math.floorDiv(minX, size) + 1)
+                * (Math.floorDiv(maxY, size) - Math.floorDiv(minY, size) + 1) > 4L * n + 16) {
+            size *= 2;
+        }
+        this.cellSize = (int) Math.min(size, Integer.MAX_VALUE);
+        minCellX = Math.floorDiv(minX, size);
+        minCellY = Math.floorDiv(minY, size);
+        width = (int) (Math.floorDiv(maxX, size) - minCellX + 1);
+        height = (int) (Math.floorDiv(maxY, size) - minCellY + 1);
+
+        // counting sort of the points by cell
+        int[] cellOf = new int[n];
+        cellStart = new int[width * height + 1];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = cellIndex(cellX(xs[i]), cellY(ys[i]));
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < width * height; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] fill = Arrays.copyOf(cellStart, cellStart.length - 1);
+        cellPoints = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellPoints[fill[cellOf[i]]++] = i;
+        }
+    }
+
+    private int cellX(int x) {
+        return (int) (Math.floorDiv((long) x, cellSize) - minCellX);
+    }
+
+    private int cellY(int y) {
+        return (int) (Math.floorDiv((long) y, cellSize) - minCellY);
+    }
+
+    private int cellIndex(int cx, int cy) {
+        return cy * width + cx;
+    }
+
+    int size() {
+        return xs.length;
+    }
+
+    // same test as java.awt.Point.distance(other) < edgeThreshold, so the graph is exactly the one of the brute force
+    static boolean isClose(int x1, int y1, int x2, int y2, int edgeThreshold) {
+        double dx = x1 - (double) x2, dy = y1 - (double) y2;
+        return Math.sqrt(dx * dx + dy * dy) < edgeThreshold;
+    }
+
+    // neighbors of every point (without the point itself), in increasing index order
+    // requires edgeThreshold <= cellSize given to the constructor
+    int[][] neighborLists(int edgeThreshold) {
+        int n = xs.length;
+        int[][] result = new int[n][];
+        int[] buffer = new int[16];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
+            int cx = cellX(xs[i]), cy = cellY(ys[i]);
+            for (int gy = Math.max(0, cy - 1); gy <= Math.min(height - 1, cy + 1); gy++) {
+                for (int gx = Math.max(0, cx - 1); gx <= Math.min(width - 1, cx + 1); gx++) {
+                    int cell = cellIndex(gx, gy);
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int j = cellPoints[k];
+                        if (j != i && isClose(xs[i], ys[i], xs[j], ys[j], edgeThreshold)) {
+                            if (count == buffer.length) buffer = Arrays.copyOf(buffer, count * 2);
+                            buffer[count++] = j;
+                        }
+                    }
+                }
+            }
+            int[] neighbors = Arrays.copyOf(buffer, count);
+            Arrays.sort(neighbors);
+            result[i] = neighbors;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,241 @@
+package algorithms;
+
+import java.util.Arrays;
+
+// evaluates the remove2add1 move "put p and q back into the forest and take r out of it" without a full DFS
+// the trees of the current forest are labeled once, then for a pair (p, q) the cycle rank of forest + p + q
+// comes from a union-find over the tree labels touched by p and q in O(deg(p) + deg(q))
+// only when there are cycles the touched trees are walked to find the vertices r that break all of them
+final class SwapEvaluator {
+    static final int NOT_FOUND = -1; // no r makes forest + p + q - r acyclic
+    static final int NO_EVICTION = -2; // forest + p + q is already acyclic
+
+    private final Graph graph;
+    private final SolverMetrics metrics;
+    private final ThreadLocal<Scratch> scratch;
+
+    private static final class Scratch {
+        final int[] stack;
+        final int[] parent;
+        final int[] stamps;
+        final int[] cycle;
+        int epoch = 0;
+        // union-find over tree labels, p and q are the nodes n and n + 1
+        final int[] ufParent;
+        final int[] touched;
+        int touchedCount = 0;
+
+        Scratch(int n) {
+            stack = new int[n];
+            parent = new int[n];
+            stamps = new int[n];
+            cycle = new int[n];
+            ufParent = new int[n + 2];
+            Arrays.fill(ufParent, -1);
+            touched = new int[n + 2];
+        }
+
+        int nextEpoch() {
+            if (epoch == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                epoch = 0;
+            }
+            return ++epoch;
+        }
+
+        void ufClear() {
+            for (int i = 0; i < touchedCount; i++) ufParent[touched[i]] = -1;
+            touchedCount = 0;
+        }
+
+        int ufFind(int x) {
+            if (ufParent[x] == -1) {
+                ufParent[x] = x;
+                touched[touchedCount++] = x;
+            }
+            while (ufParent[x] != x) {
+                ufParent[x] = ufParent[ufParent[x]];
+                x = ufParent[x];
+            }
+            return x;
+        }
+
+        boolean ufUnion(int x, int y) {
+            int rx = ufFind(x), ry = ufFind(y);
+            if (rx == ry) return false;
+            ufParent[rx] = ry;
+            return true;
+        }
+    }
+
+    // the cycle searches are counted in metrics.cycleChecks and the vertices visited by the walks in metrics.dfsNodes
+    SwapEvaluator(Graph graph, SolverMetrics metrics) {
+        this.graph = graph;
+        this.metrics = metrics;
+        scratch = ThreadLocal.withInitial(() -> new Scratch(graph.size()));
+    }
+
+    private static boolean contains(long[] set, int v) {
+        return (set[v >>> 6] & (1L << v)) != 0;
+    }
+
+    // tree label of every vertex of the forest (bitset over the ids), -1 for the other vertices
+    int[] labelTrees(long[] forest) {
+        int n = graph.size();
+        int[] labels = new int[n];
+        Arrays.fill(labels, -1);
+        int[] stack = scratch.get().stack;
+        int label = 0;
+        int visited = 0;
+        for (int root = 0; root < n; root++) {
+            if (!contains(forest, root) || labels[root] != -1) continue;
+            labels[root] = label;
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int v = stack[--top];
+                visited++;
+                for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                    int u = graph.targets[e];
+                    if (contains(forest, u) && labels[u] == -1) {
+                        labels[u] = label;
+                        stack[top++] = u;
+                    }
+                }
+            }
+            label++;
+        }
+        metrics.dfsNodes.add(visited);
+        return labels;
+    }
+
+    // number of trees in which p has at least two neighbors, every such tree holds a cycle through p
+    // and one evicted vertex can only break the cycles of one tree, so more than one means p can never be re-inserted
+    int cyclicTrees(long[] forest, int[] labels, int p) {
+        Scratch s = scratch.get();
+        int seenOnce = s.nextEpoch(), seenTwice = s.nextEpoch();
+        int cyclic = 0;
+        for (int e = graph.offsets[p]; e < graph.offsets[p + 1]; e++) {
+            int u = graph.targets[e];
+            if (!contains(forest, u)) continue;
+            int label = labels[u];
+            if (s.stamps[label] == seenOnce) {
+                s.stamps[label] = seenTwice;
+                cyclic++;
+            } else if (s.stamps[label] != seenTwice) {
+                s.stamps[label] = seenOnce;
+            }
+        }
+        return cyclic;
+    }
+
+    // a vertex r of the forest such that forest + p + q - r is acyclic, NO_EVICTION or NOT_FOUND
+    int findEviction(long[] forest, int[] labels, int p, int q) {
+        Scratch s = scratch.get();
+        int n = graph.size();
+        int[] offsets = graph.offsets, targets = graph.targets;
+
+        // cycle rank of forest + p + q = number of edges that close a cycle when the trees are contracted
+        s.ufClear();
+        int cycleRank = 0;
+        boolean cycleAtP = false, cycleAtQ = false;
+        for (int e = offsets[p]; e < offsets[p + 1]; e++) {
+            int u = targets[e];
+            if (u != q && contains(forest, u) && !s.ufUnion(n, labels[u])) {
+                cycleRank++;
+                cycleAtP = true;
+            }
+        }
+        for (int e = offsets[q]; e < offsets[q + 1]; e++) {
+            int u = targets[e];
+            if (u == p) {
+                if (!s.ufUnion(n, n + 1)) {
+                    cycleRank++;
+                    cycleAtQ = true;
+                }
+            } else if (contains(forest, u) && !s.ufUnion(n + 1, labels[u])) {
+                cycleRank++;
+                cycleAtQ = true;
+            }
+        }
+        if (cycleRank == 0) return NO_EVICTION;
+        // cycles in two different components can't be broken by the same vertex
+        if (cycleAtP && cycleAtQ && s.ufFind(n) != s.ufFind(n + 1)) return NOT_FOUND;
+
+        // every cycle goes through p or q, r has to be on all of them so in particular on this one
+        int cycleLength = findCycle(s, forest, p, q, -1, true);
+        for (int i = 0; i < cycleLength; i++) {
+            int r = s.cycle[i];
+            if (r == p || r == q) continue;
+            if (cycleRank == 1) return r; // the only cycle
+            // removing r lowers the cycle rank by at most deg(r) - 1
+            if (degreeIn(forest, r, p, q) <= cycleRank) continue;
+            if (findCycle(s, forest, p, q, r, false) == 0) return r;
+        }
+        return NOT_FOUND;
+    }
+
+    private int degreeIn(long[] forest, int v, int p, int q) {
+        int degree = 0;
+        for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+            int u = graph.targets[e];
+            if (u == p || u == q || contains(forest, u)) degree++;
+        }
+        return degree;
+    }
+
+    // DFS over forest + p + q - excluded from p and q, all other components are trees anyway
+    // returns 0 if there is no cycle, otherwise the length of a cycle whose vertices are put in s.cycle if recorded
+    private int findCycle(Scratch s, long[] forest, int p, int q, int excluded, boolean record) {
+        int[] offsets = graph.offsets, targets = graph.targets;
+        int[] stack = s.stack, parent = s.parent, stamps = s.stamps;
+        int epoch = s.nextEpoch();
+        int visited = 0;
+        for (int k = 0; k < 2; k++) {
+            int root = k == 0 ? p : q;
+            if (stamps[root] == epoch) continue;
+            stamps[root] = epoch;
+            parent[root] = -1;
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int v = stack[--top];
+                visited++;
+                boolean parentEdgeSkipped = false;
+                for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                    int u = targets[e];
+                    if (u == excluded || (u != p && u != q && !contains(forest, u))) continue;
+                    if (u == parent[v] && !parentEdgeSkipped) {
+                        parentEdgeSkipped = true;
+                        continue;
+                    }
+                    if (stamps[u] == epoch) {
+                        metrics.cycleChecks.increment();
+                        metrics.dfsNodes.add(visited);
+                        return record ? cycleThrough(parent, stamps, s.nextEpoch(), s.cycle, v, u) : 1;
+                    }
+                    stamps[u] = epoch;
+                    parent[u] = v;
+                    stack[top++] = u;
+                }
+            }
+        }
+        metrics.cycleChecks.increment();
+        metrics.dfsNodes.add(visited);
+        return 0;
+    }
+
+    // the cycle closed by the edge v-u of a DFS forest given by parent (-1 at the roots): the tree path from v up to
+    // the common ancestor and down to u is put in cycle and its length returned, mark must be a fresh stamp value
+    // (shared with DynamicFVS, whose DFS walks a mutable adjacency instead of the CSR graph)
+    static int cycleThrough(int[] parent, int[] stamps, int mark, int[] cycle, int v, int u) {
+        for (int x = v; x != -1; x = parent[x]) stamps[x] = mark;
+        int ancestor = u;
+        while (stamps[ancestor] != mark) ancestor = parent[ancestor];
+        int length = 0;
+        for (int x = v; x != ancestor; x = parent[x]) cycle[length++] = x;
+        cycle[length++] = ancestor;
+        for (int x = u; x != ancestor; x = parent[x]) cycle[length++] = x;
+        return length;
+    }
+}
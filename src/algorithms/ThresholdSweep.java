@@ -0,0 +1,108 @@
+package algorithms;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+
+// unit disk graphs of the same points for increasing thresholds, the graph of a smaller threshold being a subgraph
+// of the one of a larger threshold: the pairs closer than the largest threshold are listed once with the grid,
+// then sorted by distance into the threshold intervals (a counting sort, only the interval of a pair matters),
+// and grow() adds the pairs of the next interval to the adjacency lists
+// the graphs are exactly the ones of Graph.build, same adjacency test and same neighbor order
+final class ThresholdSweep {
+    private final int[] thresholds; // sorted, without duplicates
+    private final int[] edgeStart; // the pairs of interval k are edgeStart[k] .. edgeStart[k+1]-1
+    private final int[] sources;
+    private final int[] destinations;
+    private final int[][] neighbors;
+    private final int[] degree;
+    private int next = 0;
+
+    ThresholdSweep(List<Point> points, int[] thresholds) {
+        if (thresholds.length == 0) {
+            throw new IllegalArgumentException("At least one threshold is needed.");
+        }
+        this.thresholds = Arrays.stream(thresholds).sorted().distinct().toArray();
+        if (this.thresholds[0] < 1) {
+            throw new IllegalArgumentException("Thresholds must be positive.");
+        }
+        int n = points.size();
+        int largest = this.thresholds[this.thresholds.length - 1];
+        int[][] candidates = n == 0 ? new int[0][] : new SpatialGrid(points, largest).neighborLists(largest);
+
+        // interval of every pair: the first threshold it is closer than
+        int pairCount = 0;
+        for (int v = 0; v < n; v++) {
+            for (int u : candidates[v]) {
+                if (u > v) pairCount++;
+            }
+        }
+        int[] interval = new int[pairCount];
+        int[] pairSources = new int[pairCount];
+        int[] pairDestinations = new int[pairCount];
+        edgeStart = new int[this.thresholds.length + 1];
+        for (int v = 0, e = 0; v < n; v++) {
+            Point p = points.get(v);
+            for (int u : candidates[v]) {
+                if (u < v) continue;
+                Point q = points.get(u);
+                int k = 0;
+                while (!SpatialGrid.isClose(p.x, p.y, q.x, q.y, this.thresholds[k])) k++;
+                interval[e] = k;
+                pairSources[e] = v;
+                pairDestinations[e++] = u;
+                edgeStart[k + 1]++;
+            }
+        }
+        for (int k = 0; k < this.thresholds.length; k++) {
+            edgeStart[k + 1] += edgeStart[k];
+        }
+        sources = new int[pairCount];
+        destinations = new int[pairCount];
+        int[] fill = Arrays.copyOf(edgeStart, this.thresholds.length);
+        for (int e = 0; e < pairCount; e++) {
+            int position = fill[interval[e]]++;
+            sources[position] = pairSources[e];
+            destinations[position] = pairDestinations[e];
+        }
+
+        neighbors = new int[n][];
+        degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            neighbors[v] = new int[Math.min(4, candidates[v].length)];
+        }
+    }
+
+    int[] thresholds() {
+        return thresholds;
+    }
+
+    // the graph of the next threshold, in increasing order
+    Graph grow() {
+        if (next == thresholds.length) {
+            throw new IllegalStateException("The sweep is over.");
+        }
+        for (int e = edgeStart[next]; e < edgeStart[next + 1]; e++) {
+            add(sources[e], destinations[e]);
+            add(destinations[e], sources[e]);
+        }
+        next++;
+
+        int n = neighbors.length;
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + degree[v];
+        }
+        int[] targets = new int[offsets[n]];
+        for (int v = 0; v < n; v++) {
+            System.arraycopy(neighbors[v], 0, targets, offsets[v], degree[v]);
+            Arrays.sort(targets, offsets[v], offsets[v + 1]);
+        }
+        return new Graph(offsets, targets);
+    }
+
+    private void add(int v, int u) {
+        if (degree[v] == neighbors[v].length) neighbors[v] = Arrays.copyOf(neighbors[v], Math.max(4, 2 * degree[v]));
+        neighbors[v][degree[v]++] = u;
+    }
+}
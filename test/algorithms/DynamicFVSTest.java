@@ -0,0 +1,111 @@
+package algorithms;
+
+import java.awt.Point;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+
+// checks DynamicFVS under random streams of add/move/remove: after every update the solution must be made of live points,
+// match solutionSize and leave a forest of the brute force graph, and at the end of a longer stream it must stay close
+// to a fresh calculFVS of the same points
+// plain main without a test framework: ant test, exits with 1 on the first failure
+public class DynamicFVSTest {
+    private static final int STREAMS = 200;
+    private static final int UPDATES = 300;
+    private static final double TOLERANCE = 0.05; //relative excess over a fresh calculFVS at the end of the long stream
+
+    public static void main(String[] args) {
+        Random random = new Random(23);
+        // small planes so that the updates hit dense neighborhoods, and copies of existing points now and then
+        for (int s = 0; s < STREAMS; s++) {
+            int side = 100 + random.nextInt(200);
+            ArrayList<Point> initial = new ArrayList<>();
+            for (int i = random.nextInt(40); i > 0; i--) initial.add(randomPoint(random, side, initial));
+            run("stream " + s, random, initial, 30 + random.nextInt(40), side, UPDATES, true);
+        }
+        System.out.println("DynamicFVSTest: " + STREAMS + " streams of " + UPDATES + " updates stay valid");
+
+        // the stream of the request: 2000 points on the default plane, checked at the end against a fresh solve
+        ArrayList<Point> live = RandomPointsGenerator.generate(2000, new Random(1));
+        int dynamic = run("long stream", random, live, 100, 1400, 2000, false).solutionSize();
+        int fresh = new DefaultTeam().calculFVS(live, 100, Duration.ofSeconds(2), null).size();
+        if (dynamic > fresh * (1 + TOLERANCE)) {
+            TestGraphs.fail("DynamicFVSTest", "long stream: size " + dynamic + " against " + fresh + " for a fresh calculFVS");
+        }
+        System.out.println("DynamicFVSTest: long stream size " + dynamic + " against " + fresh + " for a fresh calculFVS");
+    }
+
+    private static Point randomPoint(Random random, int side, ArrayList<Point> existing) {
+        if (!existing.isEmpty() && random.nextInt(8) == 0) return new Point(existing.get(random.nextInt(existing.size())));
+        return new Point(random.nextInt(side), random.nextInt(side));
+    }
+
+    // applies random updates to a DynamicFVS of live, and to live itself, checking the solution after each update
+    // when checkEvery is set and after the last one otherwise
+    private static DynamicFVS run(String name, Random random, ArrayList<Point> live, int edgeThreshold, int side,
+                                  int updates, boolean checkEvery) {
+        DynamicFVS dynamic = new DynamicFVS(new ArrayList<>(live), edgeThreshold, Duration.ofMillis(20));
+        ArrayList<Integer> handles = new ArrayList<>();
+        for (int v = 0; v < live.size(); v++) handles.add(v);
+        for (int u = 0; u < updates; u++) {
+            int kind = handles.isEmpty() ? 0 : random.nextInt(3);
+            if (kind == 0) {
+                Point p = randomPoint(random, side, live);
+                handles.add(dynamic.add(p));
+                live.add(p);
+            } else if (kind == 1) {
+                int i = random.nextInt(handles.size());
+                Point to = randomPoint(random, side, live);
+                dynamic.move(handles.get(i), to);
+                live.set(i, to);
+            } else {
+                int i = random.nextInt(handles.size());
+                int removed = handles.get(i);
+                dynamic.remove(removed);
+                Collections.swap(handles, i, handles.size() - 1);
+                handles.remove(handles.size() - 1);
+                Collections.swap(live, i, live.size() - 1);
+                live.remove(live.size() - 1);
+                try {
+                    dynamic.remove(removed);
+                    TestGraphs.fail("DynamicFVSTest", name + ": removing handle " + removed + " twice was accepted");
+                } catch (IllegalArgumentException expected) {
+                }
+            }
+            if (checkEvery || u == updates - 1) check(name + ", update " + u, dynamic, live, edgeThreshold);
+        }
+        return dynamic;
+    }
+
+    private static void check(String name, DynamicFVS dynamic, ArrayList<Point> live, int edgeThreshold) {
+        ArrayList<Point> solution = dynamic.solution();
+        if (solution.size() != dynamic.solutionSize()) {
+            TestGraphs.fail("DynamicFVSTest", name + ": solution() has " + solution.size() + " points, solutionSize() " + dynamic.solutionSize());
+        }
+        // the points are compared by identity, so that copies stay distinct vertices
+        IdentityHashMap<Point, Integer> ids = new IdentityHashMap<>();
+        for (int v = 0; v < live.size(); v++) ids.put(live.get(v), v);
+        int[] solutionIds = new int[solution.size()];
+        for (int i = 0; i < solution.size(); i++) {
+            Integer v = ids.get(solution.get(i));
+            if (v == null) TestGraphs.fail("DynamicFVSTest", name + ": solution point " + solution.get(i) + " is not a live point");
+            solutionIds[i] = v;
+        }
+        int n = live.size();
+        int[][] lists = new int[n][];
+        for (int v = 0; v < n; v++) {
+            int[] list = new int[n];
+            int size = 0;
+            for (int u = 0; u < n; u++) {
+                if (u != v && live.get(u).distance(live.get(v)) < edgeThreshold) list[size++] = u;
+            }
+            lists[v] = Arrays.copyOf(list, size);
+        }
+        if (!TestGraphs.isForest(Graph.fromNeighborLists(lists), TestGraphs.rest(n, solutionIds))) {
+            TestGraphs.fail("DynamicFVSTest", name + ": the points outside the solution have a cycle");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package algorithms;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// checks that Engine.EXACT returns in bounded time at realistic kernel sizes, without a deadline,
+// and that every component goes down the expected path
+// plain main without a test framework: ant test, exits with 1 on the first failure
+public class ExactEngineTest {
+    private static final long TIME_BOUND_SECONDS = 30;
+
+    // how the components of an instance are expected to be solved
+    private enum Path {
+        GENETIC, // too large for branch and reduce, no exact node at all
+        FALLBACK, // branch and reduce runs out of nodes without a proof, the genetic search takes over
+        PROVED // branch and reduce proves every component, the genetic search never runs
+    }
+
+    public static void main(String[] args) throws Exception {
+        // the default instance: the kernel is one ~145 vertices component, far above ExactSolver.MAX_VERTICES
+        check("default 150 points instance", 150, 0, Path.GENETIC);
+        // one component just under ExactSolver.MAX_VERTICES that branch and reduce can't prove in EXACT_NODES
+        check("80 points instance", 80, 18, Path.FALLBACK);
+        // components of a few dozen vertices, proved optimal
+        check("60 points instance", 60, 1, Path.PROVED);
+        System.out.println("ExactEngineTest: all checks passed");
+    }
+
+    private static void check(String name, int nbPoints, long seed, Path path) throws Exception {
+        ArrayList<Point> points = RandomPointsGenerator.generate(nbPoints, new Random(seed));
+        DefaultTeam team = new DefaultTeam();
+        team.setEngine(DefaultTeam.Engine.EXACT);
+        team.setSeed(seed);
+        team.setPool(new ForkJoinPool(1));
+        long start = System.nanoTime();
+        ArrayList<Point> solution;
+        try {
+            solution = CompletableFuture.supplyAsync(() -> team.calculFVS(points, 100))
+                    .get(TIME_BOUND_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            fail(name + ": no result after " + TIME_BOUND_SECONDS + " s");
+            return;
+        }
+        long millis = (System.nanoTime() - start) / 1000000;
+        if (!new Evaluation().isValidFast(points, solution, 100)) {
+            fail(name + ": invalid solution");
+        }
+        SolverMetrics metrics = team.getMetrics();
+        if (solution.size() < metrics.lowerBound()) {
+            fail(name + ": solution of size " + solution.size() + " below the lower bound " + metrics.lowerBound());
+        }
+        boolean exactRan = metrics.exactNodes() > 0;
+        boolean geneticRan = !metrics.generations().isEmpty();
+        switch (path) {
+            case GENETIC -> {
+                if (exactRan || !geneticRan) fail(name + ": expected the genetic search only");
+            }
+            case FALLBACK -> {
+                if (!exactRan || !geneticRan || metrics.provedOptimal() > 0) {
+                    fail(name + ": expected branch and reduce to give up and the genetic search to take over");
+                }
+            }
+            case PROVED -> {
+                if (!exactRan || geneticRan || metrics.provedOptimal() == 0) {
+                    fail(name + ": expected every component to be proved optimal by branch and reduce");
+                }
+            }
+        }
+        System.out.println(name + ": size " + solution.size() + ", lower bound " + metrics.lowerBound()
+                + ", exact nodes " + metrics.exactNodes() + ", proved optimal " + metrics.provedOptimal()
+                + ", generations " + metrics.generations().size() + ", " + millis + " ms");
+    }
+
+    private static void fail(String message) {
+        System.err.println("ExactEngineTest failed: " + message);
+        System.exit(1);
+    }
+}
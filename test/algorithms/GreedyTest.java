@@ -0,0 +1,93 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// checks BucketGreedy against the greedy it replaced: on random multigraphs and random subsets of their vertices
+// every solution must be taken among the vertices, leave a forest and only depend on the seed, and the sizes must match the ones of the
+// plain greedy (peel the leaves, take a highest degree vertex with random ties, repeat) on average
+// plain main without a test framework: ant test, exits with 1 on the first failure
+public class GreedyTest {
+    private static final int GRAPHS = 5000;
+    private static final double TOLERANCE = 0.02; //relative difference of the average sizes
+
+    public static void main(String[] args) {
+        Random random = new Random(4);
+        long bucketTotal = 0, plainTotal = 0;
+        for (int t = 0; t < GRAPHS; t++) {
+            int n = 2 + random.nextInt(40);
+            Graph graph = TestGraphs.randomMultigraph(random, n, random.nextInt(3 * n), false);
+            int[] vertices = random.nextBoolean()
+                    ? allVertices(n)
+                    : Arrays.stream(allVertices(n)).filter(v -> random.nextInt(4) != 0).toArray();
+
+            int[] solution = new BucketGreedy(graph).run(vertices, new Random(t));
+            if (!Arrays.equals(solution, new BucketGreedy(graph).run(vertices, new Random(t)))) {
+                TestGraphs.fail("GreedyTest", "graph " + t + ": two runs with the same seed differ");
+            }
+            boolean[] in = new boolean[n];
+            for (int v : vertices) in[v] = true;
+            for (int v : solution) {
+                if (!in[v]) TestGraphs.fail("GreedyTest", "graph " + t + ": " + v + " is not one of the vertices or is taken twice");
+                in[v] = false;
+            }
+            if (!TestGraphs.isForest(graph, in)) TestGraphs.fail("GreedyTest", "graph " + t + ": the rest has a cycle");
+            bucketTotal += solution.length;
+            plainTotal += plainGreedy(graph, vertices, new Random(t));
+        }
+        double difference = Math.abs(bucketTotal - plainTotal) / (double) plainTotal;
+        if (difference > TOLERANCE) {
+            TestGraphs.fail("GreedyTest", "total size " + bucketTotal + " against " + plainTotal + " for the plain greedy");
+        }
+        System.out.println("GreedyTest: " + GRAPHS + " valid solutions, total size " + bucketTotal + " against " + plainTotal
+                + " for the plain greedy");
+    }
+
+    private static int[] allVertices(int n) {
+        int[] vertices = new int[n];
+        for (int v = 0; v < n; v++) vertices[v] = v;
+        return vertices;
+    }
+
+    // the reference: recomputes every degree for every pick, returns the solution size
+    private static int plainGreedy(Graph graph, int[] vertices, Random random) {
+        boolean[] in = new boolean[graph.size()];
+        for (int v : vertices) in[v] = true;
+        int size = 0;
+        while (true) {
+            boolean peeled = true;
+            while (peeled) {
+                peeled = false;
+                for (int v : vertices) {
+                    if (in[v] && degree(graph, in, v) <= 1) {
+                        in[v] = false;
+                        peeled = true;
+                    }
+                }
+            }
+            int best = -1, bestDegree = -1, ties = 0;
+            for (int v : vertices) {
+                if (!in[v]) continue;
+                int degree = degree(graph, in, v);
+                if (degree > bestDegree) {
+                    best = v;
+                    bestDegree = degree;
+                    ties = 1;
+                } else if (degree == bestDegree && random.nextInt(++ties) == 0) {
+                    best = v;
+                }
+            }
+            if (best == -1) return size;
+            in[best] = false;
+            size++;
+        }
+    }
+
+    private static int degree(Graph graph, boolean[] in, int v) {
+        int degree = 0;
+        for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+            if (in[graph.targets[e]]) degree++;
+        }
+        return degree;
+    }
+}
@@ -0,0 +1,82 @@
+package algorithms;
+
+import java.util.Random;
+
+// checks SwapEvaluator.findEviction against brute force on random multigraphs: for every pair (p, q) of solution
+// vertices, NO_EVICTION, an evicted vertex r or NOT_FOUND must match what trying every r gives
+// plain main without a test framework: ant test, exits with 1 on the first failure
+public class SwapEvaluatorTest {
+    private static final int GRAPHS = 20000;
+
+    public static void main(String[] args) {
+        Random random = new Random(7);
+        long[] outcomes = new long[3]; // NO_EVICTION, an evicted vertex, NOT_FOUND
+        for (int t = 0; t < GRAPHS; t++) {
+            int n = 2 + random.nextInt(13);
+            Graph graph = TestGraphs.randomMultigraph(random, n, random.nextInt(3 * n), false);
+            boolean[] inForest = randomForest(graph, random, t % 2 == 0 ? 1.0 : 0.6);
+            long[] forest = new long[(n + 63) / 64];
+            for (int v = 0; v < n; v++) {
+                if (inForest[v]) forest[v >>> 6] |= 1L << v;
+            }
+            SwapEvaluator evaluator = new SwapEvaluator(graph, new SolverMetrics());
+            int[] labels = evaluator.labelTrees(forest);
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    if (inForest[p] || inForest[q]) continue;
+                    int result = evaluator.findEviction(forest, labels, p, q);
+                    check(graph, inForest, p, q, result, t);
+                    outcomes[result == SwapEvaluator.NO_EVICTION ? 0 : result >= 0 ? 1 : 2]++;
+                }
+            }
+        }
+        System.out.println("SwapEvaluatorTest: " + GRAPHS + " graphs agree with brute force (" + outcomes[0] + " pairs without eviction, "
+                + outcomes[1] + " with one, " + outcomes[2] + " without any)");
+    }
+
+    // a random order of the vertices, each one joining the forest with probability density when it closes no cycle
+    // (density 1 gives a maximal forest, the typical local search state, a lower one leaves cycle-free pairs)
+    private static boolean[] randomForest(Graph graph, Random random, double density) {
+        int n = graph.size();
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        boolean[] inForest = new boolean[n];
+        for (int v : order) {
+            if (random.nextDouble() >= density) continue;
+            inForest[v] = true;
+            if (!TestGraphs.isForest(graph, inForest)) inForest[v] = false;
+        }
+        return inForest;
+    }
+
+    private static void check(Graph graph, boolean[] inForest, int p, int q, int result, int t) {
+        String pair = "graph " + t + ", pair (" + p + ", " + q + ")";
+        boolean[] in = inForest.clone();
+        in[p] = true;
+        in[q] = true;
+        boolean acyclic = TestGraphs.isForest(graph, in);
+        if (result == SwapEvaluator.NO_EVICTION) {
+            if (!acyclic) TestGraphs.fail("SwapEvaluatorTest", pair + ": NO_EVICTION but forest + p + q has a cycle");
+            return;
+        }
+        if (acyclic) TestGraphs.fail("SwapEvaluatorTest", pair + ": forest + p + q is acyclic but got " + result);
+        if (result >= 0) {
+            if (!inForest[result]) TestGraphs.fail("SwapEvaluatorTest", pair + ": evicted " + result + " is not in the forest");
+            in[result] = false;
+            if (!TestGraphs.isForest(graph, in)) TestGraphs.fail("SwapEvaluatorTest", pair + ": evicting " + result + " leaves a cycle");
+            return;
+        }
+        for (int r = 0; r < graph.size(); r++) {
+            if (!inForest[r]) continue;
+            in[r] = false;
+            if (TestGraphs.isForest(graph, in)) TestGraphs.fail("SwapEvaluatorTest", pair + ": NOT_FOUND but " + r + " works");
+            in[r] = true;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package algorithms;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// brute force helpers shared by the checks of test/
+final class TestGraphs {
+    private TestGraphs() {
+    }
+
+    // n vertices and m random edges, repeated edges allowed (so double edges appear), loops only when loops is set
+    static Graph randomMultigraph(Random random, int n, int m, boolean loops) {
+        int[][] lists = new int[n][0];
+        for (int i = 0; i < m; i++) {
+            int u = random.nextInt(n), v = random.nextInt(n);
+            if (u == v && !loops) continue;
+            lists[u] = append(lists[u], v);
+            if (u != v) lists[v] = append(lists[v], u);
+        }
+        return Graph.fromNeighborLists(lists);
+    }
+
+    private static int[] append(int[] list, int v) {
+        int[] result = Arrays.copyOf(list, list.length + 1);
+        result[list.length] = v;
+        return result;
+    }
+
+    // whether the vertices v with in[v] induce a forest, a loop and a double edge being cycles
+    static boolean isForest(Graph graph, boolean[] in) {
+        DisjointSet trees = new DisjointSet(graph.size());
+        for (int v = 0; v < graph.size(); v++) {
+            if (!in[v]) continue;
+            for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                int u = graph.targets[e];
+                if (u == v) return false;
+                if (u < v && in[u] && !trees.union(u, v)) return false;
+            }
+        }
+        return true;
+    }
+
+    // the complement of solution among the n vertices
+    static boolean[] rest(int n, int[] solution) {
+        boolean[] in = new boolean[n];
+        Arrays.fill(in, true);
+        for (int v : solution) in[v] = false;
+        return in;
+    }
+
+    static void fail(String test, String message) {
+        System.err.println(test + " failed: " + message);
+        System.exit(1);
+    }
+}
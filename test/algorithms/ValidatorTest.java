@@ -0,0 +1,64 @@
+package algorithms;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Random;
+
+// checks Evaluation.isValidFast against isValid on random small instances with repeated coordinates,
+// random fvs sets and thresholds 0..90, and that every witness of witnessCycle is a cycle of the remaining points
+// plain main without a test framework: ant test, exits with 1 on the first failure
+public class ValidatorTest {
+    private static final int INSTANCES = 20000;
+
+    public static void main(String[] args) {
+        Random random = new Random(19);
+        Evaluation evaluation = new Evaluation();
+        int invalid = 0;
+        for (int t = 0; t < INSTANCES; t++) {
+            int n = 1 + random.nextInt(16);
+            int edgeThreshold = random.nextInt(91);
+            ArrayList<Point> points = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                // a small plane so that the thresholds give sparse and dense graphs, and a copy now and then
+                points.add(i > 0 && random.nextInt(8) == 0
+                        ? new Point(points.get(random.nextInt(i)))
+                        : new Point(random.nextInt(200), random.nextInt(200)));
+            }
+            ArrayList<Point> fvs = new ArrayList<>();
+            for (Point p : points) {
+                if (random.nextInt(3) == 0) fvs.add(new Point(p));
+            }
+
+            String instance = "instance " + t + " (" + n + " points, threshold " + edgeThreshold + ")";
+            boolean expected = evaluation.isValid(points, fvs, edgeThreshold);
+            if (evaluation.isValidFast(points, fvs, edgeThreshold) != expected) {
+                TestGraphs.fail("ValidatorTest", instance + ": isValidFast differs from isValid " + expected);
+            }
+            ArrayList<Point> witness = evaluation.witnessCycle(points, fvs, edgeThreshold);
+            if (expected != (witness == null)) {
+                TestGraphs.fail("ValidatorTest", instance + ": witnessCycle " + witness + " but isValid " + expected);
+            }
+            if (witness != null) {
+                checkWitness(points, fvs, edgeThreshold, witness, instance);
+                invalid++;
+            }
+        }
+        System.out.println("ValidatorTest: " + INSTANCES + " instances agree with isValid (" + invalid + " with a cycle)");
+    }
+
+    // the witness is made of remaining points, consecutive ones (and the last and the first) adjacent,
+    // with at least three points or a repeated coordinate standing for two copies
+    private static void checkWitness(ArrayList<Point> points, ArrayList<Point> fvs, int edgeThreshold, ArrayList<Point> witness,
+                                     String instance) {
+        if (witness.size() < 3) TestGraphs.fail("ValidatorTest", instance + ": witness " + witness + " is too short");
+        for (int i = 0; i < witness.size(); i++) {
+            Point p = witness.get(i), q = witness.get((i + 1) % witness.size());
+            if (!points.contains(p) || fvs.contains(p)) {
+                TestGraphs.fail("ValidatorTest", instance + ": witness point " + p + " is not a remaining point");
+            }
+            if (!p.equals(q) && !(p.distance(q) < edgeThreshold)) {
+                TestGraphs.fail("ValidatorTest", instance + ": witness points " + p + " and " + q + " are not adjacent");
+            }
+        }
+    }
+}